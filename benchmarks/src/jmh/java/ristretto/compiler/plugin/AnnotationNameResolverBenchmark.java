@@ -0,0 +1,46 @@
+package ristretto.compiler.plugin;
+
+import com.sun.source.tree.AnnotationTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnnotationNameResolverBenchmark {
+
+  private ParsedSources sources;
+  private AnnotationNameResolver resolver;
+  private List<List<? extends AnnotationTree>> annotations;
+
+  @Setup
+  public void setUp() {
+    sources = ParsedSources.parse(ParsedSources.Shape.ANNOTATED);
+    resolver = AnnotationNameResolver.of(sources.compilationUnit, sources.names);
+    annotations = new ArrayList<>();
+    sources.variables().forEach(variable -> annotations.add(variable.getModifiers().getAnnotations()));
+    sources.methods().forEach(method -> annotations.add(method.getModifiers().getAnnotations()));
+  }
+
+  @Benchmark
+  public AnnotationNameResolver resolverOf() {
+    return AnnotationNameResolver.of(sources.compilationUnit, sources.names);
+  }
+
+  @Benchmark
+  public void resolve(Blackhole blackhole) {
+    for (List<? extends AnnotationTree> declarationAnnotations : annotations) {
+      blackhole.consume(resolver.resolve(declarationAnnotations));
+    }
+  }
+}
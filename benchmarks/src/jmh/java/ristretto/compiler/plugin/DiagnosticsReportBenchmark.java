@@ -0,0 +1,84 @@
+package ristretto.compiler.plugin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DiagnosticsReportBenchmark {
+
+  @Param({"SUMMARY", "CHANGES", "ALL"})
+  public String verbosity;
+
+  private DefaultModifierRule.Listener listener;
+  private DefaultModifierRule rule;
+  private ModifierTarget target;
+
+  @Setup
+  public void setUp() {
+    var report = new DiagnosticsReport(
+      new DiscardingLogger(),
+      RistrettoOptions.Verbosity.valueOf(verbosity),
+      Integer.MAX_VALUE,
+      List.of("field-final")
+    );
+    listener = report.listener("field-final");
+    rule = new DefaultFieldImmutabilityRule(listener);
+
+    var sources = ParsedSources.parse(ParsedSources.Shape.FLAT);
+    target = new DeclarationCursor(CompilationUnitContext.of(sources.compilationUnit, sources.names))
+      .moveTo(sources.variables().get(0))
+      .snapshot();
+  }
+
+  @Benchmark
+  public void modifierAdded() {
+    listener.modifierAdded(rule, target);
+  }
+
+  @Benchmark
+  public void modifierAlreadyPresent() {
+    listener.modifierAlreadyPresent(rule, target);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void modifierAddedConcurrently() {
+    listener.modifierAdded(rule, target);
+  }
+
+  private static final class DiscardingLogger extends RistrettoLogger {
+
+    @Override
+    void summary(String msg) {
+    }
+
+    @Override
+    void diagnostic(String msg) {
+    }
+
+    @Override
+    boolean isDiagnosticEnabled() {
+      return true;
+    }
+
+    @Override
+    void flush() {
+    }
+
+    @Override
+    void close() {
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package ristretto.compiler.plugin;
+
+import com.sun.tools.javac.tree.JCTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.lang.model.element.Modifier;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ModifierTargetBenchmark {
+
+  @Param({"FLAT", "ANNOTATED"})
+  public String shape;
+
+  private List<JCTree.JCVariableDecl> variables;
+  private List<JCTree.JCMethodDecl> methods;
+  private DeclarationCursor cursor;
+
+  @Setup
+  public void setUp() {
+    var sources = ParsedSources.parse(ParsedSources.Shape.valueOf(shape));
+    variables = sources.variables();
+    methods = sources.methods();
+    cursor = new DeclarationCursor(CompilationUnitContext.of(sources.compilationUnit, sources.names));
+  }
+
+  @Benchmark
+  public void modifierPredicates(Blackhole blackhole) {
+    for (JCTree.JCVariableDecl variable : variables) {
+      ModifierTarget target = cursor.moveTo(variable);
+      blackhole.consume(target.hasFinalModifier());
+      blackhole.consume(target.hasPrivateModifier());
+      blackhole.consume(target.hasStaticModifier());
+    }
+    for (JCTree.JCMethodDecl method : methods) {
+      ModifierTarget target = cursor.moveTo(method);
+      blackhole.consume(target.hasPublicModifier());
+      blackhole.consume(target.hasProtectedModifier());
+      blackhole.consume(target.hasPrivateModifier());
+    }
+  }
+
+  @Benchmark
+  public void modifierPredicatesOfWrappedDeclarations(Blackhole blackhole) {
+    for (JCTree.JCVariableDecl variable : variables) {
+      WrappedDeclaration target = new WrappedDeclaration(variable.getModifiers());
+      blackhole.consume(target.hasFinalModifier());
+      blackhole.consume(target.hasPrivateModifier());
+      blackhole.consume(target.hasStaticModifier());
+    }
+    for (JCTree.JCMethodDecl method : methods) {
+      WrappedDeclaration target = new WrappedDeclaration(method.getModifiers());
+      blackhole.consume(target.hasPublicModifier());
+      blackhole.consume(target.hasProtectedModifier());
+      blackhole.consume(target.hasPrivateModifier());
+    }
+  }
+
+  @Benchmark
+  public void annotationPredicates(Blackhole blackhole) {
+    for (JCTree.JCVariableDecl variable : variables) {
+      ModifierTarget target = cursor.moveTo(variable);
+      blackhole.consume(target.hasMutableAnnotation());
+      blackhole.consume(target.hasPackagePrivateAnnotation());
+    }
+    for (JCTree.JCMethodDecl method : methods) {
+      blackhole.consume(cursor.moveTo(method).hasPackagePrivateAnnotation());
+    }
+  }
+
+  @Benchmark
+  public void position(Blackhole blackhole) {
+    for (JCTree.JCVariableDecl variable : variables) {
+      blackhole.consume(cursor.moveTo(variable).position());
+    }
+  }
+
+  // the per-declaration wrappers DeclarationCursor replaced, which read modifiers through an EnumSet built by getFlags()
+  private static final class WrappedDeclaration {
+
+    private final JCTree.JCModifiers modifiers;
+
+    WrappedDeclaration(JCTree.JCModifiers modifiers) {
+      this.modifiers = modifiers;
+    }
+
+    boolean hasFinalModifier() {
+      return modifiers.getFlags().contains(Modifier.FINAL);
+    }
+
+    boolean hasPublicModifier() {
+      return modifiers.getFlags().contains(Modifier.PUBLIC);
+    }
+
+    boolean hasProtectedModifier() {
+      return modifiers.getFlags().contains(Modifier.PROTECTED);
+    }
+
+    boolean hasPrivateModifier() {
+      return modifiers.getFlags().contains(Modifier.PRIVATE);
+    }
+
+    boolean hasStaticModifier() {
+      return modifiers.getFlags().contains(Modifier.STATIC);
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package ristretto.compiler.plugin;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.JavacTask;
+import com.sun.tools.javac.api.BasicJavacTask;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeScanner;
+import com.sun.tools.javac.util.Names;
+
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+final class ParsedSources {
+
+  final CompilationUnitTree compilationUnit;
+  final KnownNames names;
+
+  private ParsedSources(CompilationUnitTree compilationUnit, KnownNames names) {
+    this.compilationUnit = compilationUnit;
+    this.names = names;
+  }
+
+  List<JCTree.JCVariableDecl> variables() {
+    List<JCTree.JCVariableDecl> variables = new ArrayList<>();
+    new TreeScanner() {
+      @Override
+      public void visitVarDef(JCTree.JCVariableDecl variable) {
+        variables.add(variable);
+        super.visitVarDef(variable);
+      }
+    }.scan((JCTree) compilationUnit);
+    return variables;
+  }
+
+  List<JCTree.JCMethodDecl> methods() {
+    List<JCTree.JCMethodDecl> methods = new ArrayList<>();
+    new TreeScanner() {
+      @Override
+      public void visitMethodDef(JCTree.JCMethodDecl method) {
+        methods.add(method);
+        super.visitMethodDef(method);
+      }
+    }.scan((JCTree) compilationUnit);
+    return methods;
+  }
+
+  static ParsedSources parse(Shape shape) {
+    String content = shape.source();
+    JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///bench/Sample.java"), JavaFileObject.Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return content;
+      }
+    };
+
+    var task = (JavacTask) ToolProvider.getSystemJavaCompiler().getTask(null, null, null, List.of(), null, List.of(source));
+    try {
+      return new ParsedSources(
+        task.parse().iterator().next(),
+        KnownNames.of(Names.instance(((BasicJavacTask) task).getContext()))
+      );
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  enum Shape {
+
+    FLAT {
+      @Override
+      void members(StringBuilder source) {
+        for (int i = 0; i < 200; i++) {
+          source.append("  String field").append(i).append(";\n");
+          source.append("  int method").append(i).append("(int first, String second) {\n");
+          source.append("    int local = first * 2;\n");
+          source.append("    String text = second + local;\n");
+          source.append("    return text.length();\n");
+          source.append("  }\n");
+        }
+      }
+    },
+
+    NESTED {
+      @Override
+      void members(StringBuilder source) {
+        for (int i = 0; i < 20; i++) {
+          source.append("  class Inner").append(i).append(" {\n");
+          source.append("    String field;\n");
+          source.append("    Runnable task = () -> {\n");
+          source.append("      java.util.function.Function<String, String> mapper = value -> {\n");
+          source.append("        String mapped = value + field;\n");
+          source.append("        return new Object() { String wrapped = mapped; }.wrapped;\n");
+          source.append("      };\n");
+          source.append("      mapper.apply(\"value\");\n");
+          source.append("    };\n");
+          source.append("    enum Kind { FIRST, SECOND; int weight; void weigh(int value) { weight = value; } }\n");
+          source.append("  }\n");
+        }
+      }
+    },
+
+    DEEP {
+      @Override
+      void members(StringBuilder source) {
+        source.append("  String concatenated(String value) {\n");
+        source.append("    return value");
+        for (int i = 0; i < 2_000; i++) {
+          source.append(" + value");
+        }
+        source.append(";\n");
+        source.append("  }\n");
+      }
+    },
+
+    EXPRESSIONS {
+      @Override
+      void members(StringBuilder source) {
+        source.append("  static final int[] TABLE = {");
+        for (int i = 0; i < 5_000; i++) {
+          source.append(i).append(", ");
+        }
+        source.append("};\n");
+        for (int i = 0; i < 100; i++) {
+          source.append("  String describe").append(i).append("(int value) {\n");
+          source.append("    String text = \"value \" + value + \" of \" + TABLE.length + \" in \" + java.util.Locale.ROOT");
+          for (int j = 0; j < 20; j++) {
+            source.append(" + \"").append(j).append("\" + value");
+          }
+          source.append(";\n");
+          source.append("    return java.lang.String.valueOf(java.lang.Math.max(value * 31 + TABLE[value % 7], (int) text.length()))");
+          source.append(".trim().toLowerCase(java.util.Locale.ROOT);\n");
+          source.append("  }\n");
+        }
+      }
+    },
+
+    ANNOTATED {
+      @Override
+      void imports(StringBuilder source) {
+        source.append("import ristretto.Mutable;\n");
+        source.append("import ristretto.PackagePrivate;\n");
+        source.append("import java.util.*;\n");
+      }
+
+      @Override
+      void members(StringBuilder source) {
+        for (int i = 0; i < 200; i++) {
+          source.append("  @Mutable @Deprecated List<String> field").append(i).append(";\n");
+          source.append("  @PackagePrivate @SuppressWarnings(\"unused\") void method").append(i);
+          source.append("(@Mutable int first, @ristretto.Mutable Map<String, Integer> second) {\n");
+          source.append("    @SuppressWarnings(\"unchecked\") List<String> local = new ArrayList<>();\n");
+          source.append("  }\n");
+        }
+      }
+    };
+
+    String source() {
+      var source = new StringBuilder("package bench;\n\n");
+      imports(source);
+      source.append("\nclass Sample {\n\n");
+      members(source);
+      source.append("}\n");
+      return source.toString();
+    }
+
+    void imports(StringBuilder source) {
+    }
+
+    abstract void members(StringBuilder source);
+  }
+}
@@ -0,0 +1,67 @@
+package ristretto.compiler.plugin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VariableScannerBenchmark {
+
+  private static final DefaultModifierRule.Listener IGNORED = new DefaultModifierRule.Listener() {
+  };
+
+  private static final Map<String, Function<DefaultModifierRule.Listener, DefaultModifierRule>> RULES = Map.of(
+    "field-final", DefaultFieldImmutabilityRule::new,
+    "parameter-final", DefaultParameterImmutabilityRule::new,
+    "local-final", DefaultLocalVariableImmutabilityRule::new,
+    "field-private", DefaultFieldAccessRule::new,
+    "method-public", DefaultMethodAccessRule::new
+  );
+
+  @Param({"FLAT", "NESTED", "DEEP", "EXPRESSIONS", "ANNOTATED"})
+  public String shape;
+
+  @Param({"none", "field-final", "parameter-final", "local-final", "field-private", "method-public", "all"})
+  public String rule;
+
+  private ParsedSources sources;
+  private DeclarationVisitor visitor;
+
+  @Setup
+  public void setUp() {
+    sources = ParsedSources.parse(ParsedSources.Shape.valueOf(shape));
+
+    if ("none".equals(rule)) {
+      visitor = new DeclarationVisitor() {
+      };
+      return;
+    }
+
+    if ("all".equals(rule)) {
+      visitor = RULES.get("field-final").apply(IGNORED)
+        .andThen(RULES.get("parameter-final").apply(IGNORED))
+        .andThen(RULES.get("local-final").apply(IGNORED))
+        .andThen(RULES.get("field-private").apply(IGNORED))
+        .andThen(RULES.get("method-public").apply(IGNORED));
+      return;
+    }
+
+    visitor = RULES.get(rule).apply(IGNORED);
+  }
+
+  @Benchmark
+  public void scan() {
+    VariableScanner.scan(sources.compilationUnit, sources.names, visitor);
+  }
+}
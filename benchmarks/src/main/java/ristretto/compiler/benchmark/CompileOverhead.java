@@ -0,0 +1,256 @@
+package ristretto.compiler.benchmark;
+
+import com.sun.management.ThreadMXBean;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public final class CompileOverhead {
+
+  private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+  private final Path workDirectory;
+  private final String pluginArgs;
+
+  private CompileOverhead(Path workDirectory, String pluginArgs) {
+    this.workDirectory = workDirectory;
+    this.pluginArgs = pluginArgs;
+  }
+
+  public static void main(String... args) throws IOException {
+    Path output = null;
+    int warmups = 5;
+    int iterations = 10;
+    long seed = 42;
+    String pluginArgs = "";
+    List<CorpusSpec> corpora = new ArrayList<>();
+
+    for (String arg : args) {
+      if (arg.startsWith("--output=")) {
+        output = Path.of(arg.substring("--output=".length()));
+      } else if (arg.startsWith("--warmups=")) {
+        warmups = Integer.parseInt(arg.substring("--warmups=".length()));
+      } else if (arg.startsWith("--iterations=")) {
+        iterations = Integer.parseInt(arg.substring("--iterations=".length()));
+      } else if (arg.startsWith("--seed=")) {
+        seed = Long.parseLong(arg.substring("--seed=".length()));
+      } else if (arg.startsWith("--plugin-args=")) {
+        pluginArgs = arg.substring("--plugin-args=".length());
+      } else {
+        corpora.add(CorpusSpec.parse(arg));
+      }
+    }
+
+    if (output == null || corpora.isEmpty()) {
+      throw new IllegalArgumentException("usage: CompileOverhead --output=<file> [options] <name>:<setting>=<value>,...");
+    }
+
+    Path workDirectory = Files.createTempDirectory("ristretto-compile-overhead");
+    var harness = new CompileOverhead(workDirectory, pluginArgs);
+    var results = new Properties();
+    try {
+      for (CorpusSpec corpus : corpora) {
+        List<JavaFileObject> sources = new CorpusGenerator(corpus, seed).generate();
+        for (int i = 0; i < warmups; i++) {
+          harness.compile(sources, false);
+          harness.compile(sources, true);
+        }
+
+        List<Measurement> plainSamples = new ArrayList<>(iterations);
+        List<Measurement> pluginSamples = new ArrayList<>(iterations);
+        for (int i = 0; i < iterations; i++) {
+          plainSamples.add(harness.compile(sources, false));
+          pluginSamples.add(harness.compile(sources, true));
+        }
+
+        Measurement plain = Measurement.fastest(plainSamples);
+        Measurement plugin = Measurement.fastest(pluginSamples);
+        record(results, corpus, sources.size(), plain, plugin);
+        System.out.printf(
+          "%s: %,d files, plain %.1f ms, plugin %.1f ms, cpu overhead %.1f%%%n",
+          corpus.name(),
+          sources.size(),
+          plain.wallNanos / 1e6,
+          plugin.wallNanos / 1e6,
+          overheadPercent(plain.cpuNanos, plugin.cpuNanos)
+        );
+      }
+    } finally {
+      deleteRecursively(workDirectory);
+    }
+
+    Path parent = output.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+      results.store(writer, "ristretto compile overhead");
+    }
+  }
+
+  private static void record(Properties results, CorpusSpec corpus, int files, Measurement plain, Measurement plugin) {
+    String prefix = corpus.name() + ".";
+    results.setProperty(prefix + "files", String.valueOf(files));
+    plain.record(results, prefix + "plain.", files);
+    plugin.record(results, prefix + "plugin.", files);
+    results.setProperty(prefix + "overheadPercent", format(overheadPercent(plain.cpuNanos, plugin.cpuNanos)));
+    results.setProperty(prefix + "wallOverheadPercent", format(overheadPercent(plain.wallNanos, plugin.wallNanos)));
+  }
+
+  private static double overheadPercent(long baseline, long measured) {
+    return (measured - baseline) * 100.0 / baseline;
+  }
+
+  private static String format(double value) {
+    return String.format("%.2f", value);
+  }
+
+  private Measurement compile(List<JavaFileObject> sources, boolean withPlugin) {
+    Path classes = workDirectory.resolve(withPlugin ? "plugin" : "plain");
+    var diagnostics = new DiagnosticCollector<JavaFileObject>();
+
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+      deleteRecursively(classes);
+      Files.createDirectories(classes);
+      fileManager.setLocationFromPaths(StandardLocation.CLASS_OUTPUT, List.of(classes));
+
+      List<String> options = new ArrayList<>(List.of("-classpath", System.getProperty("java.class.path")));
+      if (withPlugin) {
+        options.add(String.format(
+          "-Xplugin:ristretto --log-file=%s %s",
+          workDirectory.resolve("ristretto.log"),
+          pluginArgs
+        ).trim());
+      }
+
+      var task = (JavacTask) compiler.getTask(null, fileManager, diagnostics, options, null, sources);
+      var usage = new CompilingThreads();
+      task.addTaskListener(usage);
+      long wallBefore = System.nanoTime();
+
+      boolean success = task.call();
+
+      var measurement = new Measurement(System.nanoTime() - wallBefore, usage.cpuNanos(), usage.allocatedBytes());
+
+      if (!success) {
+        throw new IllegalStateException(String.format(
+          "corpus does not compile%s:%n%s",
+          withPlugin ? " with the plugin" : "",
+          diagnostics.getDiagnostics().stream()
+            .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+            .limit(10)
+            .map(Object::toString)
+            .collect(Collectors.joining(System.lineSeparator()))
+        ));
+      }
+      return measurement;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void deleteRecursively(Path directory) throws IOException {
+    if (!Files.exists(directory)) {
+      return;
+    }
+
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  private static final class Measurement {
+
+    final long wallNanos;
+    final long cpuNanos;
+    final long allocatedBytes;
+
+    Measurement(long wallNanos, long cpuNanos, long allocatedBytes) {
+      this.wallNanos = wallNanos;
+      this.cpuNanos = cpuNanos;
+      this.allocatedBytes = allocatedBytes;
+    }
+
+    static Measurement fastest(List<Measurement> samples) {
+      return new Measurement(
+        samples.stream().mapToLong(sample -> sample.wallNanos).min().orElseThrow(),
+        samples.stream().mapToLong(sample -> sample.cpuNanos).min().orElseThrow(),
+        samples.stream().mapToLong(sample -> sample.allocatedBytes).min().orElseThrow()
+      );
+    }
+
+    void record(Properties results, String prefix, int files) {
+      double perThousandFiles = 1000.0 / files;
+      results.setProperty(prefix + "wallMillisPer1kFiles", format(wallNanos / 1e6 * perThousandFiles));
+      results.setProperty(prefix + "cpuMillisPer1kFiles", format(cpuNanos / 1e6 * perThousandFiles));
+      results.setProperty(prefix + "allocatedMegabytesPer1kFiles", format(allocatedBytes / 1048576.0 * perThousandFiles));
+    }
+  }
+
+  // CPU time and allocations of the calling thread plus the threads started during the compilation, like the
+  // plugin's scanner pool and log writer, leaving out JIT compiler and GC threads
+  private static final class CompilingThreads implements TaskListener {
+
+    private final long callerId = Thread.currentThread().getId();
+    private final Set<Long> existingThreads = new HashSet<>();
+    private final long callerCpuBefore;
+    private final long callerAllocatedBefore;
+    private long startedThreadsCpu;
+    private long startedThreadsAllocated;
+
+    CompilingThreads() {
+      for (long threadId : THREADS.getAllThreadIds()) {
+        existingThreads.add(threadId);
+      }
+      callerCpuBefore = THREADS.getThreadCpuTime(callerId);
+      callerAllocatedBefore = THREADS.getThreadAllocatedBytes(callerId);
+    }
+
+    @Override
+    public void finished(TaskEvent event) {
+      // registered before the plugin, so the threads it started have not been shut down yet
+      if (event.getKind() != TaskEvent.Kind.COMPILATION) {
+        return;
+      }
+
+      for (long threadId : THREADS.getAllThreadIds()) {
+        if (!existingThreads.contains(threadId)) {
+          startedThreadsCpu += Math.max(0, THREADS.getThreadCpuTime(threadId));
+          startedThreadsAllocated += Math.max(0, THREADS.getThreadAllocatedBytes(threadId));
+        }
+      }
+    }
+
+    long cpuNanos() {
+      return THREADS.getThreadCpuTime(callerId) - callerCpuBefore + startedThreadsCpu;
+    }
+
+    long allocatedBytes() {
+      return THREADS.getThreadAllocatedBytes(callerId) - callerAllocatedBefore + startedThreadsAllocated;
+    }
+  }
+}
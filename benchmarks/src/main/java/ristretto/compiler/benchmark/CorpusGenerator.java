@@ -0,0 +1,154 @@
+package ristretto.compiler.benchmark;
+
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class CorpusGenerator {
+
+  private static final int PACKAGES = 16;
+
+  private final CorpusSpec spec;
+  private final Random random;
+
+  CorpusGenerator(CorpusSpec spec, long seed) {
+    this.spec = spec;
+    this.random = new Random(seed);
+  }
+
+  List<JavaFileObject> generate() {
+    List<JavaFileObject> sources = new ArrayList<>(spec.files());
+    for (int i = 0; i < spec.files(); i++) {
+      String packageName = "corpus.p" + (i % PACKAGES);
+      String className = "Generated" + i;
+      sources.add(new GeneratedSource(packageName, className, source(packageName, className)));
+    }
+    return sources;
+  }
+
+  private String source(String packageName, String className) {
+    var source = new StringBuilder(4096);
+    source.append("package ").append(packageName).append(";\n\n");
+    imports(source);
+    source.append("\npublic class ").append(className).append(" {\n");
+    members(source, "  ", spec.fieldsPerClass(), spec.methodsPerClass());
+    nestedClasses(source, "  ", spec.nestingDepth());
+    source.append("}\n");
+    return source.toString();
+  }
+
+  private void imports(StringBuilder source) {
+    switch (spec.importStyle()) {
+      case SINGLE:
+        source.append("import java.util.ArrayList;\n");
+        source.append("import java.util.List;\n");
+        source.append("import ristretto.Mutable;\n");
+        source.append("import ristretto.PackagePrivate;\n");
+        break;
+      case WILDCARD:
+        source.append("import java.util.*;\n");
+        source.append("import ristretto.*;\n");
+        break;
+      case QUALIFIED:
+        break;
+    }
+  }
+
+  private void nestedClasses(StringBuilder source, String indent, int depth) {
+    if (depth == 0) {
+      return;
+    }
+
+    String nestedIndent = indent + "  ";
+    source.append('\n').append(indent).append("static class Nested").append(depth).append(" {\n");
+    members(source, nestedIndent, Math.max(1, spec.fieldsPerClass() / 2), Math.max(1, spec.methodsPerClass() / 2));
+    nestedClasses(source, nestedIndent, depth - 1);
+    source.append(indent).append("}\n");
+  }
+
+  private void members(StringBuilder source, String indent, int fields, int methods) {
+    for (int i = 0; i < fields; i++) {
+      source.append(indent);
+      if (annotated()) {
+        source.append(annotation("Mutable")).append(' ');
+      }
+      source.append(listType()).append(" field").append(i).append(" = new ").append(arrayListType()).append("();\n");
+    }
+
+    for (int i = 0; i < methods; i++) {
+      source.append('\n').append(indent);
+      if (annotated()) {
+        source.append(annotation("PackagePrivate")).append(' ');
+      }
+      source.append("int method").append(i).append("(int first, ");
+      boolean mutableParameter = annotated();
+      if (mutableParameter) {
+        source.append(annotation("Mutable")).append(' ');
+      }
+      source.append("String second) {\n");
+
+      String body = indent + "  ";
+      if (mutableParameter) {
+        source.append(body).append("second = second.trim();\n");
+      }
+      source.append(body).append("int total = first * ").append(i + 1).append(";\n");
+      boolean mutableLocal = annotated();
+      source.append(body);
+      if (mutableLocal) {
+        source.append(annotation("Mutable")).append(' ');
+      }
+      source.append("int count = second.length();\n");
+      if (mutableLocal) {
+        source.append(body).append("for (int i = 0; i < total; i++) {\n");
+        source.append(body).append("  count += i;\n");
+        source.append(body).append("}\n");
+      }
+      source.append(body).append("Runnable task = () -> System.out.println(first + total);\n");
+      source.append(body).append("return total + count;\n");
+      source.append(indent).append("}\n");
+    }
+  }
+
+  private boolean annotated() {
+    return random.nextDouble() < spec.annotationDensity();
+  }
+
+  private String annotation(String simpleName) {
+    if (spec.importStyle() == CorpusSpec.ImportStyle.QUALIFIED) {
+      return "@ristretto." + simpleName;
+    }
+    return "@" + simpleName;
+  }
+
+  private String listType() {
+    if (spec.importStyle() == CorpusSpec.ImportStyle.QUALIFIED) {
+      return "java.util.List<String>";
+    }
+    return "List<String>";
+  }
+
+  private String arrayListType() {
+    if (spec.importStyle() == CorpusSpec.ImportStyle.QUALIFIED) {
+      return "java.util.ArrayList<>";
+    }
+    return "ArrayList<>";
+  }
+
+  private static final class GeneratedSource extends SimpleJavaFileObject {
+
+    private final String content;
+
+    GeneratedSource(String packageName, String className, String content) {
+      super(URI.create(String.format("string:///%s/%s.java", packageName.replace('.', '/'), className)), Kind.SOURCE);
+      this.content = content;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return content;
+    }
+  }
+}
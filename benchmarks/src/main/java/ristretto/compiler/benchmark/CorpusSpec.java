@@ -0,0 +1,91 @@
+package ristretto.compiler.benchmark;
+
+import java.util.Locale;
+
+final class CorpusSpec {
+
+  private final String name;
+  private int files = 100;
+  private int fieldsPerClass = 10;
+  private int methodsPerClass = 10;
+  private int nestingDepth = 0;
+  private double annotationDensity = 0;
+  private ImportStyle importStyle = ImportStyle.SINGLE;
+
+  private CorpusSpec(String name) {
+    this.name = name;
+  }
+
+  static CorpusSpec parse(String definition) {
+    String[] nameAndSettings = definition.split(":", 2);
+    var spec = new CorpusSpec(nameAndSettings[0]);
+    if (nameAndSettings.length == 1 || nameAndSettings[1].isEmpty()) {
+      return spec;
+    }
+
+    for (String setting : nameAndSettings[1].split(",")) {
+      String[] keyValue = setting.split("=", 2);
+      if (keyValue.length != 2) {
+        throw new IllegalArgumentException(String.format("invalid corpus setting: '%s'", setting));
+      }
+
+      switch (keyValue[0]) {
+        case "files":
+          spec.files = Integer.parseInt(keyValue[1]);
+          break;
+        case "fields":
+          spec.fieldsPerClass = Integer.parseInt(keyValue[1]);
+          break;
+        case "methods":
+          spec.methodsPerClass = Integer.parseInt(keyValue[1]);
+          break;
+        case "depth":
+          spec.nestingDepth = Integer.parseInt(keyValue[1]);
+          break;
+        case "annotations":
+          spec.annotationDensity = Double.parseDouble(keyValue[1]);
+          break;
+        case "imports":
+          spec.importStyle = ImportStyle.valueOf(keyValue[1].toUpperCase(Locale.ROOT));
+          break;
+        default:
+          throw new IllegalArgumentException(String.format("unknown corpus setting: '%s'", keyValue[0]));
+      }
+    }
+    return spec;
+  }
+
+  String name() {
+    return name;
+  }
+
+  int files() {
+    return files;
+  }
+
+  int fieldsPerClass() {
+    return fieldsPerClass;
+  }
+
+  int methodsPerClass() {
+    return methodsPerClass;
+  }
+
+  int nestingDepth() {
+    return nestingDepth;
+  }
+
+  double annotationDensity() {
+    return annotationDensity;
+  }
+
+  ImportStyle importStyle() {
+    return importStyle;
+  }
+
+  enum ImportStyle {
+    SINGLE,
+    WILDCARD,
+    QUALIFIED
+  }
+}
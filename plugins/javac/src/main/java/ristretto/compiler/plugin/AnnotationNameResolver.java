@@ -1,68 +1,93 @@
 package ristretto.compiler.plugin;
 
-import ristretto.Mutable;
-import ristretto.PackagePrivate;
+import com.sun.source.tree.AnnotationTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.ImportTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.Tree;
+import com.sun.tools.javac.util.Name;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Stream;
-
-import static java.util.Collections.emptyList;
-import static java.util.stream.Collectors.groupingBy;
 
 final class AnnotationNameResolver {
 
-  private static final QualifiedName MUTABLE = QualifiedName.of(Mutable.class);
-  private static final QualifiedName PACKAGE_PRIVATE = QualifiedName.of(PackagePrivate.class);
-
-  private static final Map<PackageName, List<QualifiedName>> KNOWN_ANNOTATIONS =
-    Stream.of(MUTABLE, PACKAGE_PRIVATE).collect(groupingBy(QualifiedName::packageName));
+  static final int MUTABLE_ANNOTATION = 1;
+  static final int PACKAGE_PRIVATE_ANNOTATION = 1 << 1;
 
-  private final Map<ClassReference, ClassReference> importedClasses = new HashMap<>();
+  private static final int ALL_ANNOTATIONS = MUTABLE_ANNOTATION | PACKAGE_PRIVATE_ANNOTATION;
 
-  AnnotationNameResolver(Set<ImportDeclaration> importDeclarations) {
-    importDeclarations.forEach(this::importClass);
-  }
+  private final KnownNames names;
+  private final int importedAnnotations;
 
-  // TODO: remove
-  AnnotationNameResolver() {
+  private AnnotationNameResolver(KnownNames names, int importedAnnotations) {
+    this.names = names;
+    this.importedAnnotations = importedAnnotations;
   }
 
-  // TODO: remove
-  void importClass(String importDeclaration) {
-    importClass(ImportDeclaration.parse(importDeclaration));
-  }
+  static AnnotationNameResolver of(CompilationUnitTree compilationUnit, KnownNames names) {
+    int singleTypeImports = 0;
+    int shadowingImports = 0;
+    boolean onDemandImport = false;
+
+    for (ImportTree anImport : compilationUnit.getImports()) {
+      if (anImport.isStatic() || !(anImport.getQualifiedIdentifier() instanceof MemberSelectTree)) {
+        continue;
+      }
+
+      MemberSelectTree identifier = (MemberSelectTree) anImport.getQualifiedIdentifier();
+      boolean annotationPackage = names.isAnnotationPackage(identifier.getExpression());
+      Name simpleName = (Name) identifier.getIdentifier();
+
+      if (simpleName == names.asterisk()) {
+        onDemandImport |= annotationPackage;
+      } else if (annotationPackage) {
+        singleTypeImports |= annotationNamed(simpleName, names);
+      } else {
+        shadowingImports |= annotationNamed(simpleName, names);
+      }
+    }
 
-  private void importClass(ImportDeclaration importDeclaration) {
-    Optional<QualifiedName> qualifiedName = importDeclaration.qualifiedName();
-    if (qualifiedName.isPresent()) {
-      importClass(qualifiedName.get());
-      return;
+    if (names.isAnnotationPackage(compilationUnit.getPackageName())) {
+      return new AnnotationNameResolver(names, ALL_ANNOTATIONS & ~shadowingImports);
     }
 
-    KNOWN_ANNOTATIONS.getOrDefault(importDeclaration.packageName(), emptyList()).forEach(this::importClass);
+    int onDemandImports = onDemandImport ? ALL_ANNOTATIONS & ~shadowingImports : 0;
+    return new AnnotationNameResolver(names, singleTypeImports | onDemandImports);
   }
 
-  private void importClass(QualifiedName qualifiedName) {
-    importedClasses.put(qualifiedName.simpleName(), qualifiedName);
+  int resolve(List<? extends AnnotationTree> annotations) {
+    int resolved = 0;
+    for (AnnotationTree annotation : annotations) {
+      resolved |= resolve(annotation.getAnnotationType());
+    }
+    return resolved;
   }
 
-  boolean isMutable(String annotationName) {
-    return MUTABLE.equals(resolve(annotationName));
-  }
+  private int resolve(Tree annotationType) {
+    if (annotationType instanceof IdentifierTree) {
+      if (importedAnnotations == 0) {
+        return 0;
+      }
+      return annotationNamed((Name) ((IdentifierTree) annotationType).getName(), names) & importedAnnotations;
+    }
 
-  boolean isPackagePrivate(String annotationName) {
-    return PACKAGE_PRIVATE.equals(resolve(annotationName));
-  }
+    if (annotationType instanceof MemberSelectTree) {
+      MemberSelectTree memberSelect = (MemberSelectTree) annotationType;
+      int annotation = annotationNamed((Name) memberSelect.getIdentifier(), names);
+      return annotation != 0 && names.isAnnotationPackage(memberSelect.getExpression()) ? annotation : 0;
+    }
 
-  private ClassReference resolve(String classReference) {
-    return resolve(ClassReference.parse(classReference));
+    return 0;
   }
 
-  private ClassReference resolve(ClassReference classReference) {
-    return importedClasses.getOrDefault(classReference, classReference);
+  private static int annotationNamed(Name simpleName, KnownNames names) {
+    if (simpleName == names.mutable()) {
+      return MUTABLE_ANNOTATION;
+    }
+    if (simpleName == names.packagePrivate()) {
+      return PACKAGE_PRIVATE_ANNOTATION;
+    }
+    return 0;
   }
 }
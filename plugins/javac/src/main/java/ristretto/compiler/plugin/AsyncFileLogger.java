@@ -0,0 +1,300 @@
+package ristretto.compiler.plugin;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class AsyncFileLogger extends RistrettoLogger {
+
+  private static final int MAX_BATCH_SIZE = 1024;
+  private static final Object CLOSE = new Object();
+  private static final Map<Path, Sink> OPEN_SINKS = new ConcurrentHashMap<>();
+
+  private final Sink sink;
+  private final RistrettoOptions.LogOverflow overflow;
+  private final PrintStream console;
+  private final AtomicLong dropped = new AtomicLong();
+  private volatile boolean closed = false;
+
+  AsyncFileLogger(Path path, int bufferSize, RistrettoOptions.LogOverflow overflow, PrintStream console) {
+    this.sink = Sink.acquire(path.toAbsolutePath().normalize(), bufferSize, console);
+    this.overflow = overflow;
+    this.console = console;
+  }
+
+  static boolean isOpen(Path path) {
+    return OPEN_SINKS.containsKey(path.toAbsolutePath().normalize());
+  }
+
+  @Override
+  public void summary(String msg) {
+    if (closed) {
+      return;
+    }
+    console.println(msg);
+    sink.put(msg);
+  }
+
+  @Override
+  public void diagnostic(String msg) {
+    if (closed) {
+      return;
+    }
+
+    if (overflow == RistrettoOptions.LogOverflow.BLOCK) {
+      sink.put(msg);
+      return;
+    }
+
+    if (!sink.offer(msg)) {
+      dropped.incrementAndGet();
+    }
+  }
+
+  @Override
+  boolean isDiagnosticEnabled() {
+    return !closed;
+  }
+
+  @Override
+  void flush() {
+    long droppedDiagnostics = dropped.getAndSet(0);
+    if (droppedDiagnostics > 0) {
+      summary(String.format("%,d diagnostics dropped because the log buffer was full", droppedDiagnostics));
+    }
+
+    sink.flush();
+  }
+
+  @Override
+  synchronized void close() {
+    if (closed) {
+      return;
+    }
+
+    flush();
+    closed = true;
+    sink.release();
+  }
+
+  private static final class Sink {
+
+    private final Path path;
+    private final PrintStream console;
+    private final BlockingQueue<Object> buffer;
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private Sink previous;
+    private Thread writerThread;
+    private UncheckedIOException failure;
+    private int references = 0;
+    private boolean closing = false;
+
+    private Sink(Path path, int bufferSize, PrintStream console, Sink previous) {
+      this.path = path;
+      this.console = console;
+      this.buffer = new ArrayBlockingQueue<>(bufferSize);
+      this.previous = previous;
+    }
+
+    static Sink acquire(Path path, int bufferSize, PrintStream console) {
+      Sink sink = OPEN_SINKS.compute(path, (key, open) -> {
+        Sink acquired = open == null || open.closing ? new Sink(key, bufferSize, console, open) : open;
+        acquired.references++;
+        return acquired;
+      });
+
+      try {
+        sink.open();
+      } catch (UncheckedIOException e) {
+        sink.release();
+        throw e;
+      }
+      return sink;
+    }
+
+    void release() {
+      var lastReference = new boolean[1];
+      OPEN_SINKS.computeIfPresent(path, (key, sink) -> {
+        if (sink == this && --references == 0) {
+          closing = true;
+          lastReference[0] = true;
+        }
+        return sink;
+      });
+
+      if (lastReference[0]) {
+        shutdown();
+        OPEN_SINKS.remove(path, this);
+      }
+    }
+
+    private synchronized void open() {
+      if (failure != null) {
+        throw failure;
+      }
+      if (writerThread != null) {
+        return;
+      }
+
+      if (previous != null) {
+        previous.awaitClosed();
+        previous = null;
+      }
+
+      BufferedWriter writer;
+      try {
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+      } catch (IOException e) {
+        failure = new UncheckedIOException(e);
+        throw failure;
+      }
+
+      writerThread = new Thread(new Writer(path, writer, buffer, console), "ristretto-log-writer");
+      writerThread.setDaemon(true);
+      writerThread.start();
+    }
+
+    private void shutdown() {
+      Thread writer;
+      synchronized (this) {
+        writer = writerThread;
+      }
+
+      if (writer != null) {
+        put(CLOSE);
+        try {
+          writer.join();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      closed.countDown();
+    }
+
+    private void awaitClosed() {
+      try {
+        closed.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    void put(Object entry) {
+      try {
+        buffer.put(entry);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    boolean offer(String msg) {
+      return buffer.offer(msg);
+    }
+
+    void flush() {
+      var flushed = new CountDownLatch(1);
+      put(flushed);
+      try {
+        flushed.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static final class Writer implements Runnable {
+
+    private final Path path;
+    private final BufferedWriter writer;
+    private final BlockingQueue<Object> buffer;
+    private final PrintStream console;
+    private boolean failed = false;
+
+    Writer(Path path, BufferedWriter writer, BlockingQueue<Object> buffer, PrintStream console) {
+      this.path = path;
+      this.writer = writer;
+      this.buffer = buffer;
+      this.console = console;
+    }
+
+    @Override
+    public void run() {
+      List<Object> batch = new ArrayList<>();
+      try {
+        while (true) {
+          batch.add(buffer.take());
+          buffer.drainTo(batch, MAX_BATCH_SIZE - 1);
+          for (Object entry : batch) {
+            if (entry == CLOSE) {
+              close();
+              return;
+            }
+            write(entry);
+          }
+          batch.clear();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        close();
+      }
+    }
+
+    private void write(Object entry) {
+      if (entry instanceof CountDownLatch) {
+        flush();
+        ((CountDownLatch) entry).countDown();
+        return;
+      }
+
+      if (failed) {
+        return;
+      }
+
+      try {
+        writer.write((String) entry);
+        writer.newLine();
+      } catch (IOException e) {
+        fail(e);
+      }
+    }
+
+    private void flush() {
+      if (failed) {
+        return;
+      }
+
+      try {
+        writer.flush();
+      } catch (IOException e) {
+        fail(e);
+      }
+    }
+
+    private void close() {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        if (!failed) {
+          fail(e);
+        }
+      }
+    }
+
+    private void fail(IOException e) {
+      failed = true;
+      console.println(String.format("ristretto: unable to write %s: %s", path, e.getMessage()));
+    }
+  }
+}
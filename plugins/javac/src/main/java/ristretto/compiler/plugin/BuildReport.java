@@ -0,0 +1,124 @@
+package ristretto.compiler.plugin;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class BuildReport {
+
+  private static final ConcurrentMap<String, BuildReport> BUILDS = new ConcurrentHashMap<>();
+
+  private final String buildId;
+  private final Path summaryFile;
+  private final AtomicInteger activeTasks = new AtomicInteger();
+  private final AtomicLong finishedTasks = new AtomicLong();
+  private final AtomicLong skippedCompilationUnits = new AtomicLong();
+  private final ConcurrentMap<String, AtomicLongArray> ruleCounts = new ConcurrentSkipListMap<>();
+
+  private BuildReport(String buildId, Path summaryFile) {
+    this.buildId = buildId;
+    this.summaryFile = summaryFile;
+  }
+
+  static BuildReport join(String buildId, Path summaryFile) {
+    BuildReport joined = BUILDS.compute(buildId, (id, build) -> {
+      if (build == null) {
+        build = new BuildReport(id, summaryFile);
+      } else if (!sameFile(build.summaryFile, summaryFile)) {
+        throw new IllegalArgumentException(String.format(
+          "build %s already writes its summary to %s, cannot write it to %s",
+          id,
+          build.summaryFile,
+          summaryFile
+        ));
+      }
+      build.activeTasks.incrementAndGet();
+      return build;
+    });
+
+    // a build's tasks can start after its earlier tasks finished, so its totals are kept until another build starts
+    for (String otherBuildId : BUILDS.keySet()) {
+      if (!otherBuildId.equals(buildId)) {
+        BUILDS.computeIfPresent(otherBuildId, (id, build) -> build.activeTasks.get() == 0 ? null : build);
+      }
+    }
+    return joined;
+  }
+
+  private static boolean sameFile(Path path, Path other) {
+    return path.toAbsolutePath().normalize().equals(other.toAbsolutePath().normalize());
+  }
+
+  static boolean isActive(String buildId) {
+    BuildReport build = BUILDS.get(buildId);
+    return build != null && build.activeTasks.get() > 0;
+  }
+
+  static boolean isKnown(String buildId) {
+    return BUILDS.containsKey(buildId);
+  }
+
+  void taskFinished(Map<String, long[]> taskRuleCounts, long taskSkippedCompilationUnits, RistrettoLogger logger) {
+    taskRuleCounts.forEach((rule, counts) -> {
+      AtomicLongArray total = ruleCounts.computeIfAbsent(rule, name -> new AtomicLongArray(counts.length));
+      for (int i = 0; i < counts.length; i++) {
+        total.addAndGet(i, counts[i]);
+      }
+    });
+    skippedCompilationUnits.addAndGet(taskSkippedCompilationUnits);
+    finishedTasks.incrementAndGet();
+
+    if (activeTasks.decrementAndGet() == 0) {
+      writeSummary(logger);
+    }
+  }
+
+  void taskAbandoned(RistrettoLogger logger) {
+    if (activeTasks.decrementAndGet() == 0 && finishedTasks.get() > 0) {
+      writeSummary(logger);
+    }
+  }
+
+  private synchronized void writeSummary(RistrettoLogger logger) {
+    try {
+      Path temporary = Files.createTempFile(summaryFile.toAbsolutePath().getParent(), summaryFile.getFileName().toString(), ".tmp");
+      Files.write(temporary, summary(), StandardCharsets.UTF_8);
+      Files.move(temporary, summaryFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      logger.summary(String.format("build %s summary written to %s", buildId, summaryFile));
+    } catch (IOException e) {
+      logger.summary(String.format("build %s summary could not be written to %s: %s", buildId, summaryFile, e));
+    }
+  }
+
+  List<String> summary() {
+    Map<String, long[]> totals = new LinkedHashMap<>();
+    ruleCounts.forEach((rule, counts) -> {
+      long[] snapshot = new long[counts.length()];
+      for (int i = 0; i < snapshot.length; i++) {
+        snapshot[i] = counts.get(i);
+      }
+      totals.put(rule, snapshot);
+    });
+
+    List<String> lines = new ArrayList<>();
+    lines.add(String.format("build %s summary of %,d compilation tasks:", buildId, finishedTasks.get()));
+    lines.addAll(DiagnosticsReport.summaryTable(totals));
+    long skipped = skippedCompilationUnits.get();
+    if (skipped > 0) {
+      lines.add(String.format("%,d compilation units skipped because they were already processed", skipped));
+    }
+    return lines;
+  }
+}
@@ -0,0 +1,50 @@
+package ristretto.compiler.plugin;
+
+enum BuiltInRule implements RuleProvider {
+
+  FIELD_FINAL("field-final") {
+    @Override
+    public DefaultModifierRule create(DefaultModifierRule.Listener listener) {
+      return new DefaultFieldImmutabilityRule(FinalModifierSetter.INSTANCE.andThen(listener));
+    }
+  },
+
+  PARAMETER_FINAL("parameter-final") {
+    @Override
+    public DefaultModifierRule create(DefaultModifierRule.Listener listener) {
+      return new DefaultParameterImmutabilityRule(FinalModifierSetter.INSTANCE.andThen(listener));
+    }
+  },
+
+  LOCAL_FINAL("local-final") {
+    @Override
+    public DefaultModifierRule create(DefaultModifierRule.Listener listener) {
+      return new DefaultLocalVariableImmutabilityRule(FinalModifierSetter.INSTANCE.andThen(listener));
+    }
+  },
+
+  FIELD_PRIVATE("field-private") {
+    @Override
+    public DefaultModifierRule create(DefaultModifierRule.Listener listener) {
+      return new DefaultFieldAccessRule(PrivateModifierSetter.INSTANCE.andThen(listener));
+    }
+  },
+
+  METHOD_PUBLIC("method-public") {
+    @Override
+    public DefaultModifierRule create(DefaultModifierRule.Listener listener) {
+      return new DefaultMethodAccessRule(PublicModifierSetter.INSTANCE.andThen(listener));
+    }
+  };
+
+  private final String id;
+
+  BuiltInRule(String id) {
+    this.id = id;
+  }
+
+  @Override
+  public String id() {
+    return id;
+  }
+}
@@ -0,0 +1,70 @@
+package ristretto.compiler.plugin;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.LineMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+final class CompilationUnitContext {
+
+  private final CompilationUnitTree compilationUnit;
+  private final AnnotationNameResolver resolver;
+  private String filePath;
+  private LineIndex lineIndex;
+
+  private CompilationUnitContext(CompilationUnitTree compilationUnit, AnnotationNameResolver resolver) {
+    this.compilationUnit = compilationUnit;
+    this.resolver = resolver;
+  }
+
+  static CompilationUnitContext of(CompilationUnitTree compilationUnit, KnownNames names) {
+    return new CompilationUnitContext(compilationUnit, AnnotationNameResolver.of(compilationUnit, names));
+  }
+
+  // source files are read through javac's file manager, so this runs on the javac thread before a unit is scanned on another one
+  CompilationUnitContext indexLines() {
+    if (compilationUnit.getLineMap() == null) {
+      lineIndex();
+    }
+    return this;
+  }
+
+  String position(int sourcePosition) {
+    return filePath() + ":" + lineNumber(sourcePosition);
+  }
+
+  private String filePath() {
+    if (filePath == null) {
+      filePath = compilationUnit.getSourceFile().toUri().getPath();
+    }
+    return filePath;
+  }
+
+  private int lineNumber(int sourcePosition) {
+    LineMap lineMap = compilationUnit.getLineMap();
+    if (lineMap != null) {
+      return (int) lineMap.getLineNumber(sourcePosition);
+    }
+    return lineIndex().lineNumber(sourcePosition);
+  }
+
+  private LineIndex lineIndex() {
+    if (lineIndex == null) {
+      try {
+        lineIndex = LineIndex.of(compilationUnit.getSourceFile().getCharContent(true));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return lineIndex;
+  }
+
+  CompilationUnitTree compilationUnit() {
+    return compilationUnit;
+  }
+
+  AnnotationNameResolver resolver() {
+    return resolver;
+  }
+}
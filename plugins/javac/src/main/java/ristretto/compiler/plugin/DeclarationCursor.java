@@ -0,0 +1,107 @@
+package ristretto.compiler.plugin;
+
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.util.List;
+
+final class DeclarationCursor implements ModifierTarget {
+
+  private static final int UNRESOLVED = -1;
+
+  private final CompilationUnitContext context;
+  private JCTree declaration;
+  private JCTree.JCModifiers modifiers;
+  private int annotations = UNRESOLVED;
+
+  DeclarationCursor(CompilationUnitContext context) {
+    this.context = context;
+  }
+
+  DeclarationCursor moveTo(JCTree.JCVariableDecl variable) {
+    return moveTo(variable, variable.mods);
+  }
+
+  DeclarationCursor moveTo(JCTree.JCMethodDecl method) {
+    return moveTo(method, method.mods);
+  }
+
+  private DeclarationCursor moveTo(JCTree declaration, JCTree.JCModifiers modifiers) {
+    this.declaration = declaration;
+    this.modifiers = modifiers;
+    this.annotations = UNRESOLVED;
+    return this;
+  }
+
+  @Override
+  public ModifierTarget snapshot() {
+    DeclarationCursor snapshot = new DeclarationCursor(context).moveTo(declaration, modifiers);
+    snapshot.annotations = annotations;
+    return snapshot;
+  }
+
+  @Override
+  public String position() {
+    return context.position(declaration.getPreferredPosition());
+  }
+
+  @Override
+  public boolean hasFinalModifier() {
+    return (modifiers.flags & Flags.FINAL) != 0;
+  }
+
+  @Override
+  public boolean hasPublicModifier() {
+    return (modifiers.flags & Flags.PUBLIC) != 0;
+  }
+
+  @Override
+  public boolean hasProtectedModifier() {
+    return (modifiers.flags & Flags.PROTECTED) != 0;
+  }
+
+  @Override
+  public boolean hasPrivateModifier() {
+    return (modifiers.flags & Flags.PRIVATE) != 0;
+  }
+
+  @Override
+  public boolean hasStaticModifier() {
+    return (modifiers.flags & Flags.STATIC) != 0;
+  }
+
+  @Override
+  public boolean hasMutableAnnotation() {
+    return (annotations() & AnnotationNameResolver.MUTABLE_ANNOTATION) != 0;
+  }
+
+  @Override
+  public boolean hasPackagePrivateAnnotation() {
+    return (annotations() & AnnotationNameResolver.PACKAGE_PRIVATE_ANNOTATION) != 0;
+  }
+
+  private int annotations() {
+    if (annotations == UNRESOLVED) {
+      List<JCTree.JCAnnotation> declared = modifiers.annotations;
+      annotations = declared.isEmpty() ? 0 : context.resolver().resolve(declared);
+    }
+    return annotations;
+  }
+
+  @Override
+  public void addFinalModifier() {
+    if ((modifiers.flags & Flags.VOLATILE) != 0) {
+      return;
+    }
+    modifiers.flags |= Flags.FINAL;
+  }
+
+  @Override
+  public void addPrivateModifier() {
+    modifiers.flags |= Flags.PRIVATE;
+  }
+
+  @Override
+  public void addPublicModifier() {
+    modifiers.flags |= Flags.PUBLIC;
+  }
+}
@@ -0,0 +1,81 @@
+package ristretto.compiler.plugin;
+
+public interface DeclarationVisitor {
+
+  default void visitLocalVariable(ModifierTarget localVariable) {
+  }
+
+  default void visitField(ModifierTarget field) {
+  }
+
+  default void visitClassField(ModifierTarget field) {
+  }
+
+  default void visitEnumField(ModifierTarget field) {
+  }
+
+  default void visitParameter(ModifierTarget parameter) {
+  }
+
+  default void visitClassConstructor(ModifierTarget constructor) {
+  }
+
+  default void visitClassMethod(ModifierTarget method) {
+  }
+
+  default void visitEnumMethod(ModifierTarget method) {
+  }
+
+  default DeclarationVisitor andThen(DeclarationVisitor next) {
+    return new DeclarationVisitor() {
+
+      @Override
+      public void visitLocalVariable(ModifierTarget localVariable) {
+        DeclarationVisitor.this.visitLocalVariable(localVariable);
+        next.visitLocalVariable(localVariable);
+      }
+
+      @Override
+      public void visitField(ModifierTarget field) {
+        DeclarationVisitor.this.visitField(field);
+        next.visitField(field);
+      }
+
+      @Override
+      public void visitClassField(ModifierTarget field) {
+        DeclarationVisitor.this.visitClassField(field);
+        next.visitClassField(field);
+      }
+
+      @Override
+      public void visitEnumField(ModifierTarget field) {
+        DeclarationVisitor.this.visitEnumField(field);
+        next.visitEnumField(field);
+      }
+
+      @Override
+      public void visitParameter(ModifierTarget parameter) {
+        DeclarationVisitor.this.visitParameter(parameter);
+        next.visitParameter(parameter);
+      }
+
+      @Override
+      public void visitClassConstructor(ModifierTarget constructor) {
+        DeclarationVisitor.this.visitClassConstructor(constructor);
+        next.visitClassConstructor(constructor);
+      }
+
+      @Override
+      public void visitClassMethod(ModifierTarget method) {
+        DeclarationVisitor.this.visitClassMethod(method);
+        next.visitClassMethod(method);
+      }
+
+      @Override
+      public void visitEnumMethod(ModifierTarget method) {
+        DeclarationVisitor.this.visitEnumMethod(method);
+        next.visitEnumMethod(method);
+      }
+    };
+  }
+}
@@ -1,6 +1,6 @@
 package ristretto.compiler.plugin;
 
-final class DefaultFieldAccessRule implements VariableScanner.Visitor, DefaultModifierRule {
+final class DefaultFieldAccessRule implements DefaultModifierRule {
 
   private final Listener listener;
 
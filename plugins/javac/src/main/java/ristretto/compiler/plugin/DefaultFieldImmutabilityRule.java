@@ -1,6 +1,6 @@
 package ristretto.compiler.plugin;
 
-final class DefaultFieldImmutabilityRule implements VariableScanner.Visitor, DefaultModifierRule {
+final class DefaultFieldImmutabilityRule implements DefaultModifierRule {
 
   private final Listener listener;
 
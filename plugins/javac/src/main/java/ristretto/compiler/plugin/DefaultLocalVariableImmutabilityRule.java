@@ -1,6 +1,6 @@
 package ristretto.compiler.plugin;
 
-final class DefaultLocalVariableImmutabilityRule implements VariableScanner.Visitor, DefaultModifierRule {
+final class DefaultLocalVariableImmutabilityRule implements DefaultModifierRule {
 
   private final Listener listener;
 
@@ -1,6 +1,6 @@
 package ristretto.compiler.plugin;
 
-final class DefaultMethodAccessRule implements VariableScanner.Visitor, DefaultModifierRule {
+final class DefaultMethodAccessRule implements DefaultModifierRule {
 
   private final Listener listener;
 
@@ -1,6 +1,6 @@
 package ristretto.compiler.plugin;
 
-interface DefaultModifierRule {
+public interface DefaultModifierRule extends DeclarationVisitor {
 
   interface Listener {
 
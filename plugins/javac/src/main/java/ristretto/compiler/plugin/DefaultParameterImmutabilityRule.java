@@ -1,6 +1,6 @@
 package ristretto.compiler.plugin;
 
-final class DefaultParameterImmutabilityRule implements VariableScanner.Visitor, DefaultModifierRule {
+final class DefaultParameterImmutabilityRule implements DefaultModifierRule {
 
   private final Listener listener;
 
@@ -1,65 +1,172 @@
 package ristretto.compiler.plugin;
 
-final class DiagnosticsReport implements DefaultModifierRule.Listener {
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class DiagnosticsReport {
 
-  private final MetricsCollector<Class<? extends DefaultModifierRule>, EventType> metrics;
   private final RistrettoLogger logger;
+  private final Set<EventType> printedEvents;
+  private final int diagnosticsLimitPerRule;
+  private final List<String> ruleIds;
+  private final MetricsCollector<String, EventType> metrics;
+  private final AtomicLong skippedCompilationUnits = new AtomicLong();
+  private final Optional<BuildReport> buildReport;
+  private final Optional<UnitTimings> timings;
+  private final Optional<FlightRecorderEvents> events;
 
-  DiagnosticsReport(RistrettoLogger logger) {
-    this.metrics = new MetricsCollector<>();
-    this.logger = logger;
+  DiagnosticsReport(RistrettoLogger logger, RistrettoOptions.Verbosity verbosity, int diagnosticsLimitPerRule, List<String> ruleIds) {
+    this(logger, verbosity, diagnosticsLimitPerRule, ruleIds, Optional.empty(), Optional.empty(), Optional.empty());
   }
 
-  void pluginLoaded() {
-    logger.summary("ristretto plugin loaded");
+  DiagnosticsReport(
+    RistrettoLogger logger,
+    RistrettoOptions.Verbosity verbosity,
+    int diagnosticsLimitPerRule,
+    List<String> ruleIds,
+    Optional<BuildReport> buildReport,
+    Optional<UnitTimings> timings,
+    Optional<FlightRecorderEvents> events
+  ) {
+    this.logger = logger;
+    this.printedEvents = printedEvents(verbosity);
+    this.diagnosticsLimitPerRule = diagnosticsLimitPerRule;
+    this.ruleIds = List.copyOf(ruleIds);
+    this.metrics = new MetricsCollector<>(this.ruleIds, EventType.class);
+    this.buildReport = buildReport;
+    this.timings = timings;
+    this.events = events;
   }
 
-  @Override
-  public void modifierAdded(DefaultModifierRule source, ModifierTarget target) {
-    handleEvent(source, target, EventType.MODIFIER_ADDED);
+  private static Set<EventType> printedEvents(RistrettoOptions.Verbosity verbosity) {
+    switch (verbosity) {
+      case ALL:
+        return EnumSet.allOf(EventType.class);
+      case CHANGES:
+        return EnumSet.of(EventType.MODIFIER_ADDED);
+      default:
+        return EnumSet.noneOf(EventType.class);
+    }
   }
 
-  @Override
-  public void modifierNotAdded(DefaultModifierRule source, ModifierTarget target) {
-    handleEvent(source, target, EventType.MODIFIER_NOT_ADDED);
+  DefaultModifierRule.Listener listener(String ruleId) {
+    if (!ruleIds.contains(ruleId)) {
+      throw new IllegalArgumentException(String.format("unknown rule: '%s'", ruleId));
+    }
+    return new RuleListener(ruleId, metrics.counter(ruleId));
   }
 
-  @Override
-  public void modifierAlreadyPresent(DefaultModifierRule source, ModifierTarget target) {
-    handleEvent(source, target, EventType.MODIFIER_ALREADY_PRESENT);
+  void pluginLoaded() {
+    logger.summary("ristretto plugin loaded");
   }
 
-  private void handleEvent(DefaultModifierRule source, ModifierTarget target, EventType eventType) {
-    metrics.count(source.getClass(), eventType);
-    logger.diagnostic(String.format("%s %s %s", source.getClass().getSimpleName(), target.position(), eventType));
+  void compilationUnitSkipped() {
+    skippedCompilationUnits.incrementAndGet();
   }
 
   void pluginFinished() {
+    Map<String, long[]> ruleCounts = new LinkedHashMap<>();
+    for (String ruleId : ruleIds) {
+      ruleCounts.put(ruleId, metrics.counts(ruleId).orElseThrow());
+    }
+
+    long skipped = skippedCompilationUnits.get();
+    Runnable flush = () -> flushSummary(ruleCounts, skipped);
+    events.ifPresentOrElse(recorder -> recorder.summaryFlushed(ruleIds.size(), skipped, flush), flush);
+  }
+
+  private void flushSummary(Map<String, long[]> ruleCounts, long skipped) {
     logger.summary("summary:");
-    logger.summary("| rule                                     | inspected   | added   | present | not added |");
-    logger.summary("|------------------------------------------|-------------|---------|---------|-----------|");
-    logger.summary(formatMetrics(DefaultFieldImmutabilityRule.class));
-    logger.summary(formatMetrics(DefaultParameterImmutabilityRule.class));
-    logger.summary(formatMetrics(DefaultLocalVariableImmutabilityRule.class));
-    logger.summary(formatMetrics(DefaultFieldAccessRule.class));
-    logger.summary(formatMetrics(DefaultMethodAccessRule.class));
+    summaryTable(ruleCounts).forEach(logger::summary);
+    if (skipped > 0) {
+      logger.summary(String.format("%,d compilation units skipped because they were already processed", skipped));
+    }
+    timings.ifPresent(unitTimings -> unitTimings.summary().forEach(logger::summary));
+    buildReport.ifPresent(build -> build.taskFinished(ruleCounts, skipped, logger));
+    logger.close();
   }
 
-  private String formatMetrics(Class<? extends DefaultModifierRule> rule) {
-    String eventSourceName = rule.getSimpleName();
+  static List<String> summaryTable(Map<String, long[]> ruleCounts) {
+    List<String> lines = new ArrayList<>(ruleCounts.size() + 2);
+    lines.add("| rule                                     | inspected   | added   | present | not added |");
+    lines.add("|------------------------------------------|-------------|---------|---------|-----------|");
+    ruleCounts.forEach((rule, counts) -> lines.add(formatMetrics(rule, counts)));
+    return lines;
+  }
 
-    return metrics.calculate(rule)
+  private static String formatMetrics(String rule, long[] counts) {
+    return Percentages.<EventType>calculate(counts)
       .map(percentages ->
         String.format(
-          "| %-40s | %,11d | %6.2f%% | %6.2f%% |   %6.2f%% |",
-          eventSourceName,
+          "| %-40s | %,11d | %s%% | %s%% |   %s%% |",
+          rule,
           percentages.getTotal(),
-          percentages.percentage(EventType.MODIFIER_ADDED),
-          percentages.percentage(EventType.MODIFIER_ALREADY_PRESENT),
-          percentages.percentage(EventType.MODIFIER_NOT_ADDED)
+          formatPercentage(percentages.basisPoints(EventType.MODIFIER_ADDED)),
+          formatPercentage(percentages.basisPoints(EventType.MODIFIER_ALREADY_PRESENT)),
+          formatPercentage(percentages.basisPoints(EventType.MODIFIER_NOT_ADDED))
         )
       )
-      .orElse(String.format("| %-40s |           0 |       - |       - |         - |", eventSourceName));
+      .orElse(String.format("| %-40s |           0 |       - |       - |         - |", rule));
+  }
+
+  private static String formatPercentage(long basisPoints) {
+    return String.format("%3d.%02d", basisPoints / 100, basisPoints % 100);
+  }
+
+  private final class RuleListener implements DefaultModifierRule.Listener {
+
+    private final String ruleId;
+    private final MetricsCollector<String, EventType>.SourceCounter counter;
+    private final AtomicInteger printedDiagnostics = new AtomicInteger();
+
+    RuleListener(String ruleId, MetricsCollector<String, EventType>.SourceCounter counter) {
+      this.ruleId = ruleId;
+      this.counter = counter;
+    }
+
+    @Override
+    public void modifierAdded(DefaultModifierRule source, ModifierTarget target) {
+      handleEvent(target, EventType.MODIFIER_ADDED);
+    }
+
+    @Override
+    public void modifierNotAdded(DefaultModifierRule source, ModifierTarget target) {
+      handleEvent(target, EventType.MODIFIER_NOT_ADDED);
+    }
+
+    @Override
+    public void modifierAlreadyPresent(DefaultModifierRule source, ModifierTarget target) {
+      handleEvent(target, EventType.MODIFIER_ALREADY_PRESENT);
+    }
+
+    private void handleEvent(ModifierTarget target, EventType eventType) {
+      counter.count(eventType);
+
+      if (!printedEvents.contains(eventType) || !logger.isDiagnosticEnabled()) {
+        return;
+      }
+
+      int printed = printedDiagnostics.incrementAndGet();
+      if (printed > diagnosticsLimitPerRule) {
+        if (printed == diagnosticsLimitPerRule + 1) {
+          logger.diagnostic(String.format(
+            "%s reached the limit of %,d diagnostics, further diagnostics are suppressed",
+            ruleId,
+            diagnosticsLimitPerRule
+          ));
+        }
+        return;
+      }
+
+      logger.diagnostic(String.format("%s %s %s", ruleId, target.position(), eventType));
+    }
   }
 
   private enum EventType {
@@ -0,0 +1,223 @@
+package ristretto.compiler.plugin;
+
+import com.sun.source.tree.CompilationUnitTree;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+final class FlightRecorderEvents {
+
+  private static final String CATEGORY = "Ristretto";
+
+  private final boolean compilationUnitEnabled;
+  private final boolean rulePassEnabled;
+
+  private FlightRecorderEvents(boolean compilationUnitEnabled, boolean rulePassEnabled) {
+    this.compilationUnitEnabled = compilationUnitEnabled;
+    this.rulePassEnabled = rulePassEnabled;
+  }
+
+  static Optional<FlightRecorderEvents> ifEnabled() {
+    // the javac launcher only resolves jdk.jfr when flight recording is requested, so check before touching its classes
+    if (ModuleLayer.boot().findModule("jdk.jfr").isEmpty()) {
+      return Optional.empty();
+    }
+    return Registration.register();
+  }
+
+  boolean isCompilationUnitEnabled() {
+    return compilationUnitEnabled;
+  }
+
+  boolean isRulePassEnabled() {
+    return rulePassEnabled;
+  }
+
+  Consumer<CompilationUnitContext> unitScanner(UnitTimings timings, List<? extends DeclarationVisitor> rules) {
+    var ruleIds = timings.ruleIds();
+
+    return context -> {
+      var unitEvent = new CompilationUnitEvent();
+      unitEvent.begin();
+
+      var scannedUnit = timings.scan(context, rules);
+
+      unitEvent.end();
+      String file = context.compilationUnit().getSourceFile().getName();
+      if (unitEvent.shouldCommit()) {
+        commit(unitEvent, context.compilationUnit(), scannedUnit.declarations);
+      }
+
+      for (int i = 0; i < ruleIds.size(); i++) {
+        // rules run interleaved within the unit's traversal, so the rule's own time is the only meaningful duration
+        var passEvent = new RulePassEvent();
+        if (passEvent.shouldCommit()) {
+          passEvent.rule = ruleIds.get(i);
+          passEvent.file = file;
+          passEvent.declarations = scannedUnit.declarations;
+          passEvent.ruleTime = scannedUnit.ruleNanos[i];
+          passEvent.commit();
+        }
+      }
+    };
+  }
+
+  Consumer<CompilationUnitContext> unitScanner(DeclarationVisitor rules) {
+    return context -> {
+      var counter = new DeclarationCounter();
+      var unitEvent = new CompilationUnitEvent();
+      unitEvent.begin();
+
+      VariableScanner.scan(context, rules.andThen(counter));
+
+      unitEvent.end();
+      if (unitEvent.shouldCommit()) {
+        commit(unitEvent, context.compilationUnit(), counter.declarations);
+      }
+    };
+  }
+
+  private static void commit(CompilationUnitEvent event, CompilationUnitTree compilationUnit, long declarations) {
+    event.file = compilationUnit.getSourceFile().getName();
+    event.packageName = compilationUnit.getPackageName() == null ? "" : compilationUnit.getPackageName().toString();
+    event.declarations = declarations;
+    event.commit();
+  }
+
+  void summaryFlushed(int rules, long skippedCompilationUnits, Runnable flush) {
+    var event = new SummaryFlushEvent();
+    event.begin();
+
+    flush.run();
+
+    event.end();
+    if (event.shouldCommit()) {
+      event.rules = rules;
+      event.skippedCompilationUnits = skippedCompilationUnits;
+      event.commit();
+    }
+  }
+
+  private static final class Registration {
+
+    static Optional<FlightRecorderEvents> register() {
+      if (!FlightRecorder.isAvailable() || !FlightRecorder.isInitialized()) {
+        return Optional.empty();
+      }
+
+      FlightRecorder.register(CompilationUnitEvent.class);
+      FlightRecorder.register(RulePassEvent.class);
+      FlightRecorder.register(SummaryFlushEvent.class);
+
+      boolean compilationUnitEnabled = EventType.getEventType(CompilationUnitEvent.class).isEnabled();
+      boolean rulePassEnabled = EventType.getEventType(RulePassEvent.class).isEnabled();
+      if (!compilationUnitEnabled && !rulePassEnabled && !EventType.getEventType(SummaryFlushEvent.class).isEnabled()) {
+        return Optional.empty();
+      }
+      return Optional.of(new FlightRecorderEvents(compilationUnitEnabled, rulePassEnabled));
+    }
+  }
+
+  // fields are counted once in visitField, visitClassField and visitEnumField follow it for the same declaration
+  private static final class DeclarationCounter implements DeclarationVisitor {
+
+    long declarations = 0;
+
+    @Override
+    public void visitLocalVariable(ModifierTarget localVariable) {
+      declarations++;
+    }
+
+    @Override
+    public void visitField(ModifierTarget field) {
+      declarations++;
+    }
+
+    @Override
+    public void visitParameter(ModifierTarget parameter) {
+      declarations++;
+    }
+
+    @Override
+    public void visitClassConstructor(ModifierTarget constructor) {
+      declarations++;
+    }
+
+    @Override
+    public void visitClassMethod(ModifierTarget method) {
+      declarations++;
+    }
+
+    @Override
+    public void visitEnumMethod(ModifierTarget method) {
+      declarations++;
+    }
+  }
+
+  @Name("ristretto.CompilationUnit")
+  @Label("Compilation Unit")
+  @Description("Compilation unit scanned by the enabled rules")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  @Registered(false)
+  static final class CompilationUnitEvent extends Event {
+
+    @Label("File")
+    String file;
+
+    @Label("Package")
+    String packageName;
+
+    @Label("Declarations")
+    long declarations;
+  }
+
+  @Name("ristretto.RulePass")
+  @Label("Rule Pass")
+  @Description("Time a rule spent on the declarations of a compilation unit, interleaved with the other rules")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  @Registered(false)
+  static final class RulePassEvent extends Event {
+
+    @Label("Rule")
+    String rule;
+
+    @Label("File")
+    String file;
+
+    @Label("Declarations")
+    long declarations;
+
+    @Label("Rule Time")
+    @Description("Time spent in the rule itself")
+    @Timespan(Timespan.NANOSECONDS)
+    long ruleTime;
+  }
+
+  @Name("ristretto.SummaryFlush")
+  @Label("Summary Flush")
+  @Description("Plugin summary written and log flushed at the end of the compilation task")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  @Registered(false)
+  static final class SummaryFlushEvent extends Event {
+
+    @Label("Rules")
+    int rules;
+
+    @Label("Skipped Compilation Units")
+    long skippedCompilationUnits;
+  }
+}
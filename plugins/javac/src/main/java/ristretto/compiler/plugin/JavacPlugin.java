@@ -6,9 +6,16 @@ import com.sun.source.util.TaskEvent;
 import com.sun.tools.javac.api.BasicJavacTask;
 import com.sun.tools.javac.util.Context;
 import com.sun.tools.javac.util.Log;
+import com.sun.tools.javac.util.Names;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static ristretto.compiler.plugin.TaskListeners.whenCompilationUnit;
 import static ristretto.compiler.plugin.TaskListeners.whenEventKindIs;
-import static ristretto.compiler.plugin.TaskListeners.whenPackageName;
 
 public final class JavacPlugin implements Plugin {
 
@@ -22,37 +29,58 @@ public final class JavacPlugin implements Plugin {
   @Override
   public void init(JavacTask task, String... args) {
     RistrettoOptions options = RistrettoOptions.parse(args);
-    DiagnosticsReport diagnosticsReport;
+    var ruleProviders = RuleRegistry.load(JavacPlugin.class.getClassLoader()).select(options.ruleSelection());
+    RistrettoLogger logger;
 
     if (options.isStandardErrorOutputEnabled()) {
       Context context = ((BasicJavacTask) task).getContext();
-      diagnosticsReport = new DiagnosticsReport(RistrettoLogger.stderr(Log.instance(context)));
+      logger = RistrettoLogger.stderr(Log.instance(context));
     } else {
-      diagnosticsReport = new DiagnosticsReport(RistrettoLogger.javaUtilLogging());
+      logger = RistrettoLogger.file(options.logFile(), options.logBufferSize(), options.logOverflow());
     }
 
-    task.addTaskListener(TaskListeners.onFinished(
-      whenEventKindIs(TaskEvent.Kind.PARSE).and(whenPackageName(options::isIncluded)),
-      event -> {
-        var compilationUnit = event.getCompilationUnit();
-
-        var immutabilityListeners = FinalModifierSetter.INSTANCE.andThen(diagnosticsReport);
-        VariableScanner.scan(compilationUnit, new DefaultFieldImmutabilityRule(immutabilityListeners));
-        VariableScanner.scan(compilationUnit, new DefaultParameterImmutabilityRule(immutabilityListeners));
-        VariableScanner.scan(compilationUnit, new DefaultLocalVariableImmutabilityRule(immutabilityListeners));
-
-        VariableScanner.scan(
-          compilationUnit,
-          new DefaultFieldAccessRule(PrivateModifierSetter.INSTANCE.andThen(diagnosticsReport))
-        );
-
-        VariableScanner.scan(
-          compilationUnit,
-          new DefaultMethodAccessRule(PublicModifierSetter.INSTANCE.andThen(diagnosticsReport))
-        );
-
-      }
-    ));
+    Optional<BuildReport> buildReport = Optional.empty();
+    try {
+      buildReport = options.buildId().map(buildId -> BuildReport.join(buildId, options.buildSummaryFile()));
+      start(task, options, ruleProviders, logger, buildReport);
+    } catch (RuntimeException | Error e) {
+      buildReport.ifPresent(build -> build.taskAbandoned(logger));
+      logger.close();
+      throw e;
+    }
+  }
+
+  private static void start(
+    JavacTask task,
+    RistrettoOptions options,
+    List<RuleProvider> ruleProviders,
+    RistrettoLogger logger,
+    Optional<BuildReport> buildReport
+  ) {
+    var ruleIds = ruleProviders.stream().map(RuleProvider::id).collect(Collectors.toUnmodifiableList());
+    var events = FlightRecorderEvents.ifEnabled();
+    var timings = options.isTimingsEnabled() || events.filter(FlightRecorderEvents::isRulePassEnabled).isPresent()
+      ? Optional.of(new UnitTimings(ruleIds, options.slowestUnitsReported()))
+      : Optional.<UnitTimings>empty();
+    var diagnosticsReport = new DiagnosticsReport(
+      logger,
+      options.verbosity(),
+      options.diagnosticsLimitPerRule(),
+      ruleIds,
+      buildReport,
+      timings.filter(unitTimings -> options.isTimingsEnabled()),
+      events
+    );
+
+    var listenerProviders = ServiceLoader.load(RuleListenerProvider.class, JavacPlugin.class.getClassLoader());
+
+    List<DefaultModifierRule> enabledRules = ruleProviders.stream()
+      .map(provider -> provider.create(listener(task, provider.id(), diagnosticsReport, listenerProviders)))
+      .collect(Collectors.toList());
+
+    if (!enabledRules.isEmpty()) {
+      scanCompilationUnits(task, options, diagnosticsReport, timings, events, enabledRules);
+    }
 
     task.addTaskListener(TaskListeners.onFinished(
       whenEventKindIs(TaskEvent.Kind.COMPILATION),
@@ -61,4 +89,82 @@ public final class JavacPlugin implements Plugin {
 
     diagnosticsReport.pluginLoaded();
   }
+
+  private static DefaultModifierRule.Listener listener(
+    JavacTask task,
+    String ruleId,
+    DiagnosticsReport diagnosticsReport,
+    Iterable<RuleListenerProvider> listenerProviders
+  ) {
+    DefaultModifierRule.Listener listener = diagnosticsReport.listener(ruleId);
+    for (RuleListenerProvider provider : listenerProviders) {
+      listener = listener.andThen(provider.create(task, ruleId));
+    }
+    return listener;
+  }
+
+  private static DeclarationVisitor chain(List<? extends DeclarationVisitor> visitors) {
+    DeclarationVisitor chained = visitors.get(0);
+    for (int i = 1; i < visitors.size(); i++) {
+      chained = chained.andThen(visitors.get(i));
+    }
+    return chained;
+  }
+
+  private static void scanCompilationUnits(
+    JavacTask task,
+    RistrettoOptions options,
+    DiagnosticsReport diagnosticsReport,
+    Optional<UnitTimings> timings,
+    Optional<FlightRecorderEvents> events,
+    List<DefaultModifierRule> enabledRules
+  ) {
+    var names = KnownNames.of(Names.instance(((BasicJavacTask) task).getContext()));
+    Consumer<CompilationUnitContext> analyzer;
+
+    if (timings.isPresent()) {
+      var unitTimings = timings.get();
+      analyzer = events
+        .map(recorder -> recorder.unitScanner(unitTimings, enabledRules))
+        .orElse(context -> unitTimings.scan(context, enabledRules));
+    } else {
+      var rules = chain(enabledRules);
+      analyzer = events
+        .filter(FlightRecorderEvents::isCompilationUnitEnabled)
+        .map(recorder -> recorder.unitScanner(rules))
+        .orElse(context -> VariableScanner.scan(context, rules));
+    }
+
+    var sourceFilter = SourceFilter.of(options, names);
+    var processedUnits = new ProcessedUnits(diagnosticsReport);
+    var unitParsed = whenEventKindIs(TaskEvent.Kind.PARSE)
+      .and(whenCompilationUnit(sourceFilter::isIncluded))
+      .and(whenCompilationUnit(processedUnits::markProcessed));
+
+    if (options.threads() > 1) {
+      var scanner = new ParallelUnitScanner(options.threads(), analyzer);
+
+      task.addTaskListener(TaskListeners.onFinished(
+        unitParsed,
+        event -> scanner.submit(CompilationUnitContext.of(event.getCompilationUnit(), names))
+      ));
+
+      task.addTaskListener(TaskListeners.onStarted(
+        whenEventKindIs(TaskEvent.Kind.ENTER)
+          .or(whenEventKindIs(TaskEvent.Kind.ANALYZE))
+          .or(whenEventKindIs(TaskEvent.Kind.GENERATE)),
+        scanner::scanSubmitted
+      ));
+
+      task.addTaskListener(TaskListeners.onFinished(
+        whenEventKindIs(TaskEvent.Kind.COMPILATION),
+        scanner::close
+      ));
+    } else {
+      task.addTaskListener(TaskListeners.onFinished(
+        unitParsed,
+        event -> analyzer.accept(CompilationUnitContext.of(event.getCompilationUnit(), names))
+      ));
+    }
+  }
 }
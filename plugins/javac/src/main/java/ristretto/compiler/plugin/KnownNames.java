@@ -0,0 +1,67 @@
+package ristretto.compiler.plugin;
+
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.tools.javac.util.Name;
+import com.sun.tools.javac.util.Names;
+import ristretto.Mutable;
+import ristretto.PackagePrivate;
+
+final class KnownNames {
+
+  private static final String GENERATED = "Generated";
+
+  private final Names names;
+  private final Name[] annotationPackage;
+  private final Name mutable;
+  private final Name packagePrivate;
+  private final Name generated;
+
+  private KnownNames(Names names) {
+    String[] packageSegments = Mutable.class.getPackageName().split("\\.");
+    this.names = names;
+    this.annotationPackage = new Name[packageSegments.length];
+    for (int i = 0; i < packageSegments.length; i++) {
+      annotationPackage[i] = names.fromString(packageSegments[i]);
+    }
+    this.mutable = names.fromString(Mutable.class.getSimpleName());
+    this.packagePrivate = names.fromString(PackagePrivate.class.getSimpleName());
+    this.generated = names.fromString(GENERATED);
+  }
+
+  static KnownNames of(Names names) {
+    return new KnownNames(names);
+  }
+
+  Name fromString(String value) {
+    return names.fromString(value);
+  }
+
+  Name asterisk() {
+    return names.asterisk;
+  }
+
+  Name mutable() {
+    return mutable;
+  }
+
+  Name packagePrivate() {
+    return packagePrivate;
+  }
+
+  Name generated() {
+    return generated;
+  }
+
+  boolean isAnnotationPackage(ExpressionTree packageName) {
+    ExpressionTree tree = packageName;
+    for (int i = annotationPackage.length - 1; i > 0; i--) {
+      if (!(tree instanceof MemberSelectTree) || ((MemberSelectTree) tree).getIdentifier() != annotationPackage[i]) {
+        return false;
+      }
+      tree = ((MemberSelectTree) tree).getExpression();
+    }
+    return tree instanceof IdentifierTree && ((IdentifierTree) tree).getName() == annotationPackage[0];
+  }
+}
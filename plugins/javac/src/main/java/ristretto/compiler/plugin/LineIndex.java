@@ -0,0 +1,37 @@
+package ristretto.compiler.plugin;
+
+import java.util.Arrays;
+
+final class LineIndex {
+
+  private final int[] lineStarts;
+
+  private LineIndex(int[] lineStarts) {
+    this.lineStarts = lineStarts;
+  }
+
+  static LineIndex of(CharSequence content) {
+    int[] lineStarts = new int[64];
+    int lines = 1;
+
+    for (int i = 0; i < content.length(); i++) {
+      char c = content.charAt(i);
+      if (c == '\r' && i + 1 < content.length() && content.charAt(i + 1) == '\n') {
+        continue;
+      }
+      if (c == '\n' || c == '\r') {
+        if (lines == lineStarts.length) {
+          lineStarts = Arrays.copyOf(lineStarts, lines * 2);
+        }
+        lineStarts[lines++] = i + 1;
+      }
+    }
+
+    return new LineIndex(Arrays.copyOf(lineStarts, lines));
+  }
+
+  int lineNumber(int position) {
+    int index = Arrays.binarySearch(lineStarts, position);
+    return index >= 0 ? index + 1 : -index - 1;
+  }
+}
@@ -1,21 +1,63 @@
 package ristretto.compiler.plugin;
 
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
-final class MetricsCollector<S, T> {
+final class MetricsCollector<S, T extends Enum<T>> {
 
-  private final Map<S, Map<T, Integer>> eventCount = new HashMap<>();
+  private final Map<S, Integer> sourceOrdinals = new HashMap<>();
+  private final int eventTypeCount;
+  private final LongAdder[] eventCount;
 
-  void count(S eventSource, T eventType) {
-    eventCount
-      .computeIfAbsent(eventSource, newEventSource -> new HashMap<>())
-      .merge(eventType, 1, Integer::sum);
+  MetricsCollector(List<S> eventSources, Class<T> eventType) {
+    for (S eventSource : eventSources) {
+      sourceOrdinals.put(eventSource, sourceOrdinals.size());
+    }
+    this.eventTypeCount = eventType.getEnumConstants().length;
+    this.eventCount = new LongAdder[sourceOrdinals.size() * eventTypeCount];
+    for (int i = 0; i < eventCount.length; i++) {
+      eventCount[i] = new LongAdder();
+    }
+  }
+
+  SourceCounter counter(S eventSource) {
+    Integer sourceOrdinal = sourceOrdinals.get(eventSource);
+    if (sourceOrdinal == null) {
+      throw new IllegalArgumentException(String.format("unknown event source: '%s'", eventSource));
+    }
+    return new SourceCounter(sourceOrdinal * eventTypeCount);
   }
 
   Optional<Percentages<T>> calculate(S eventSource) {
-    return Percentages.calculate(eventCount.getOrDefault(eventSource, Collections.emptyMap()));
+    return counts(eventSource).flatMap(Percentages::calculate);
+  }
+
+  Optional<long[]> counts(S eventSource) {
+    Integer sourceOrdinal = sourceOrdinals.get(eventSource);
+    if (sourceOrdinal == null) {
+      return Optional.empty();
+    }
+
+    long[] counts = new long[eventTypeCount];
+    for (int i = 0; i < eventTypeCount; i++) {
+      counts[i] = eventCount[sourceOrdinal * eventTypeCount + i].sum();
+    }
+    return Optional.of(counts);
+  }
+
+  final class SourceCounter {
+
+    private final int offset;
+
+    private SourceCounter(int offset) {
+      this.offset = offset;
+    }
+
+    void count(T eventType) {
+      eventCount[offset + eventType.ordinal()].increment();
+    }
   }
 }
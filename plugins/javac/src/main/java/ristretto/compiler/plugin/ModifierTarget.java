@@ -1,6 +1,6 @@
 package ristretto.compiler.plugin;
 
-interface ModifierTarget {
+public interface ModifierTarget {
 
   boolean hasFinalModifier();
 
@@ -23,4 +23,6 @@ interface ModifierTarget {
   boolean hasPackagePrivateAnnotation();
 
   String position();
+
+  ModifierTarget snapshot();
 }
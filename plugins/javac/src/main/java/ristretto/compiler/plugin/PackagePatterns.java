@@ -0,0 +1,132 @@
+package ristretto.compiler.plugin;
+
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.tools.javac.util.Name;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+final class PackagePatterns {
+
+  private static final String ANY_SEGMENT = "*";
+  private static final String ANY_SUBPACKAGE = "**";
+
+  private final Node root;
+
+  private PackagePatterns(Node root) {
+    this.root = root;
+  }
+
+  static PackagePatterns compile(Collection<String> patterns, KnownNames names) {
+    Node root = new Node();
+    for (String pattern : patterns) {
+      root.add(pattern.split("\\."), 0, names);
+    }
+    return new PackagePatterns(root);
+  }
+
+  boolean isEmpty() {
+    return root.isEmpty();
+  }
+
+  boolean matches(ExpressionTree packageName) {
+    return root.matches(packageName, segmentCount(packageName), 0);
+  }
+
+  private static int segmentCount(ExpressionTree packageName) {
+    int count = 0;
+    for (ExpressionTree tree = packageName; tree != null; tree = selected(tree)) {
+      count++;
+    }
+    return count;
+  }
+
+  private static ExpressionTree selected(ExpressionTree tree) {
+    return tree instanceof MemberSelectTree ? ((MemberSelectTree) tree).getExpression() : null;
+  }
+
+  private static boolean segmentEquals(ExpressionTree packageName, int count, int index, Name literal) {
+    ExpressionTree tree = packageName;
+    for (int i = count - 1; i > index; i--) {
+      tree = selected(tree);
+    }
+
+    if (tree instanceof MemberSelectTree) {
+      return ((MemberSelectTree) tree).getIdentifier() == literal;
+    }
+    if (tree instanceof IdentifierTree) {
+      return ((IdentifierTree) tree).getName() == literal;
+    }
+    return false;
+  }
+
+  private static final class Node {
+
+    private Name[] literals = new Name[0];
+    private Node[] children = new Node[0];
+    private Node anySegment;
+    private boolean terminal;
+    private boolean anySubpackage;
+
+    private void add(String[] pattern, int index, KnownNames names) {
+      if (index == pattern.length) {
+        terminal = true;
+        return;
+      }
+
+      String segment = pattern[index];
+      if (ANY_SUBPACKAGE.equals(segment)) {
+        anySubpackage = true;
+        return;
+      }
+
+      if (ANY_SEGMENT.equals(segment)) {
+        if (anySegment == null) {
+          anySegment = new Node();
+        }
+        anySegment.add(pattern, index + 1, names);
+        return;
+      }
+
+      child(names.fromString(segment)).add(pattern, index + 1, names);
+    }
+
+    private Node child(Name literal) {
+      for (int i = 0; i < literals.length; i++) {
+        if (literals[i] == literal) {
+          return children[i];
+        }
+      }
+
+      literals = Arrays.copyOf(literals, literals.length + 1);
+      children = Arrays.copyOf(children, children.length + 1);
+      literals[literals.length - 1] = literal;
+      children[children.length - 1] = new Node();
+      return children[children.length - 1];
+    }
+
+    private boolean isEmpty() {
+      return !terminal && !anySubpackage && anySegment == null && literals.length == 0;
+    }
+
+    private boolean matches(ExpressionTree packageName, int count, int index) {
+      if (anySubpackage) {
+        return true;
+      }
+
+      if (index == count) {
+        return terminal;
+      }
+
+      for (int i = 0; i < literals.length; i++) {
+        if (segmentEquals(packageName, count, index, literals[i]) && children[i].matches(packageName, count, index + 1)) {
+          return true;
+        }
+      }
+
+      return anySegment != null && anySegment.matches(packageName, count, index + 1);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package ristretto.compiler.plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+final class ParallelUnitScanner {
+
+  private final ForkJoinPool pool;
+  private final Consumer<CompilationUnitContext> analyzer;
+  private final List<CompilationUnitContext> submitted = new ArrayList<>();
+
+  ParallelUnitScanner(int threads, Consumer<CompilationUnitContext> analyzer) {
+    this.pool = new ForkJoinPool(threads);
+    this.analyzer = analyzer;
+  }
+
+  void submit(CompilationUnitContext context) {
+    submitted.add(context.indexLines());
+  }
+
+  void scanSubmitted() {
+    if (submitted.isEmpty()) {
+      return;
+    }
+
+    List<Callable<Void>> scans = new ArrayList<>(submitted.size());
+    for (CompilationUnitContext context : submitted) {
+      scans.add(() -> {
+        analyzer.accept(context);
+        return null;
+      });
+    }
+    submitted.clear();
+
+    for (Future<Void> scan : pool.invokeAll(scans)) {
+      try {
+        scan.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("interrupted while scanning compilation units", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+  }
+
+  void close() {
+    try {
+      scanSubmitted();
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
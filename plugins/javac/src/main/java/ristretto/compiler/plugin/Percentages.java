@@ -1,53 +1,37 @@
 package ristretto.compiler.plugin;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.Map;
 import java.util.Optional;
 
-import static java.util.stream.Collectors.toUnmodifiableMap;
+final class Percentages<K extends Enum<K>> {
 
-final class Percentages<K> {
+  private static final long HUNDRED_PERCENT = 100_00;
 
-  private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+  private final long total;
+  private final long[] counts;
 
-  private final int total;
-  private final Map<K, BigDecimal> percentages;
-
-  private Percentages(int total, Map<K, BigDecimal> percentages) {
+  private Percentages(long total, long[] counts) {
     this.total = total;
-    this.percentages = percentages;
+    this.counts = counts;
   }
 
-  static <K> Optional<Percentages<K>> calculate(Map<K, Integer> stats) {
-    int total = stats.values()
-      .stream()
-      .mapToInt(Integer::intValue)
-      .sum();
+  static <K extends Enum<K>> Optional<Percentages<K>> calculate(long[] counts) {
+    long total = 0;
+    for (long count : counts) {
+      total += count;
+    }
 
     if (total == 0) {
       return Optional.empty();
     }
 
-    Map<K, BigDecimal> percentages = stats.entrySet()
-      .stream()
-      .collect(toUnmodifiableMap(Map.Entry::getKey, entry -> percentage(entry.getValue(), total)));
-
-    return Optional.of(new Percentages<>(total, percentages));
-  }
-
-  private static BigDecimal percentage(int count, int total) {
-    return BigDecimal.valueOf(count)
-      .divide(BigDecimal.valueOf(total), 4, RoundingMode.FLOOR)
-      .multiply(HUNDRED)
-      .setScale(2, RoundingMode.FLOOR);
+    return Optional.of(new Percentages<>(total, counts));
   }
 
-  int getTotal() {
+  long getTotal() {
     return total;
   }
 
-  BigDecimal percentage(K key) {
-    return percentages.getOrDefault(key, BigDecimal.ZERO);
+  long basisPoints(K key) {
+    return counts[key.ordinal()] * HUNDRED_PERCENT / total;
   }
 }
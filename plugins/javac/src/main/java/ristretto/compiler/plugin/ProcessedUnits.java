@@ -0,0 +1,26 @@
+package ristretto.compiler.plugin;
+
+import com.sun.source.tree.CompilationUnitTree;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+final class ProcessedUnits {
+
+  private final Set<CompilationUnitTree> processed = Collections.newSetFromMap(new IdentityHashMap<>());
+  private final DiagnosticsReport report;
+
+  ProcessedUnits(DiagnosticsReport report) {
+    this.report = report;
+  }
+
+  boolean markProcessed(CompilationUnitTree compilationUnit) {
+    if (processed.add(compilationUnit)) {
+      return true;
+    }
+
+    report.compilationUnitSkipped();
+    return false;
+  }
+}
@@ -2,13 +2,7 @@ package ristretto.compiler.plugin;
 
 import com.sun.tools.javac.util.Log;
 
-import java.io.IOException;
-import java.util.logging.ConsoleHandler;
-import java.util.logging.FileHandler;
-import java.util.logging.Formatter;
-import java.util.logging.Level;
-import java.util.logging.LogRecord;
-import java.util.logging.Logger;
+import java.nio.file.Path;
 
 abstract class RistrettoLogger {
 
@@ -16,56 +10,18 @@ abstract class RistrettoLogger {
 
   abstract void diagnostic(String msg);
 
-  static RistrettoLogger stderr(Log log) {
-    return new StdErrLogger(log);
-  }
+  abstract boolean isDiagnosticEnabled();
 
-  static RistrettoLogger javaUtilLogging() {
-    return new JavaUtilLogger();
-  }
-
-  private static final class JavaUtilLogger extends RistrettoLogger {
-
-    final Logger logger;
-
-    JavaUtilLogger() {
-      try {
-        FileHandler fileHandler = new FileHandler("ristretto.log");
-        fileHandler.setFormatter(new MessageOnlyFormatter());
-        fileHandler.setLevel(Level.ALL);
-
-        ConsoleHandler consoleHandler = new ConsoleHandler();
-        consoleHandler.setFormatter(new MessageOnlyFormatter());
-        consoleHandler.setLevel(Level.INFO);
-
-        Logger logger = Logger.getLogger("ristretto");
-        logger.setUseParentHandlers(false);
-        logger.addHandler(consoleHandler);
-        logger.addHandler(fileHandler);
-        logger.setLevel(Level.ALL);
-        this.logger = logger;
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
-    }
+  abstract void flush();
 
-    @Override
-    public void summary(String msg) {
-      logger.info(msg);
-    }
+  abstract void close();
 
-    @Override
-    public void diagnostic(String msg) {
-      logger.fine(msg);
-    }
+  static RistrettoLogger stderr(Log log) {
+    return new StdErrLogger(log);
   }
 
-  private static final class MessageOnlyFormatter extends Formatter {
-
-    @Override
-    public String format(LogRecord record) {
-      return String.format("%s%n", record.getMessage());
-    }
+  static RistrettoLogger file(Path path, int bufferSize, RistrettoOptions.LogOverflow overflow) {
+    return new AsyncFileLogger(path, bufferSize, overflow, System.err);
   }
 
   private static final class StdErrLogger extends RistrettoLogger {
@@ -77,14 +33,29 @@ abstract class RistrettoLogger {
     }
 
     @Override
-    public void summary(String msg) {
+    public synchronized void summary(String msg) {
       log.printRawLines(msg);
     }
 
     @Override
-    public void diagnostic(String msg) {
+    public synchronized void diagnostic(String msg) {
       log.printRawLines(msg);
     }
+
+    @Override
+    boolean isDiagnosticEnabled() {
+      return true;
+    }
+
+    @Override
+    synchronized void flush() {
+      log.flush();
+    }
+
+    @Override
+    void close() {
+      flush();
+    }
   }
 
 }
@@ -1,13 +1,28 @@
 package ristretto.compiler.plugin;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.stream.Stream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 final class RistrettoOptions {
 
   private boolean standardErrorOutputEnabled = false;
-  private final Set<PackageName> packagesToIgnore = new HashSet<>();
+  private Verbosity verbosity = Verbosity.ALL;
+  private int diagnosticsLimitPerRule = Integer.MAX_VALUE;
+  private Path logFile = Path.of("ristretto.log");
+  private int logBufferSize = 8192;
+  private LogOverflow logOverflow = LogOverflow.BLOCK;
+  private final List<String> ignoredPackagePatterns = new ArrayList<>();
+  private final List<String> ignoredPathPatterns = new ArrayList<>();
+  private final List<String> ruleSelection = new ArrayList<>();
+  private boolean generatedSourcesIncluded = false;
+  private int threads = 1;
+  private boolean timingsEnabled = false;
+  private int slowestUnitsReported = 10;
+  private String buildId;
+  private Path buildSummaryFile;
 
   private RistrettoOptions() {
   }
@@ -20,12 +35,84 @@ final class RistrettoOptions {
         continue;
       }
 
+      if (arg.startsWith("--verbosity=")) {
+        String value = arg.substring("--verbosity=".length());
+        options.verbosity = Verbosity.valueOf(value.toUpperCase(Locale.ROOT));
+        continue;
+      }
+
+      if (arg.startsWith("--max-diagnostics-per-rule=")) {
+        String value = arg.substring("--max-diagnostics-per-rule=".length());
+        options.diagnosticsLimitPerRule = Integer.parseInt(value);
+        continue;
+      }
+
+      if (arg.startsWith("--log-file=")) {
+        options.logFile = Path.of(arg.substring("--log-file=".length()));
+        continue;
+      }
+
+      if (arg.startsWith("--log-buffer-size=")) {
+        String value = arg.substring("--log-buffer-size=".length());
+        options.logBufferSize = Integer.parseInt(value);
+        continue;
+      }
+
+      if (arg.startsWith("--log-overflow=")) {
+        String value = arg.substring("--log-overflow=".length());
+        options.logOverflow = LogOverflow.valueOf(value.toUpperCase(Locale.ROOT));
+        continue;
+      }
+
+      if (arg.startsWith("--threads=")) {
+        String value = arg.substring("--threads=".length());
+        options.threads = Integer.parseInt(value);
+        continue;
+      }
+
+      if ("--timings".equals(arg)) {
+        options.timingsEnabled = true;
+        continue;
+      }
+
+      if (arg.startsWith("--timings-slowest-units=")) {
+        String value = arg.substring("--timings-slowest-units=".length());
+        options.slowestUnitsReported = Integer.parseInt(value);
+        continue;
+      }
+
+      if (arg.startsWith("--build-id=")) {
+        options.buildId = arg.substring("--build-id=".length());
+        continue;
+      }
+
+      if (arg.startsWith("--build-summary-file=")) {
+        options.buildSummaryFile = Path.of(arg.substring("--build-summary-file=".length()));
+        continue;
+      }
+
+      if (arg.startsWith("--rules=")) {
+        String value = arg.substring("--rules=".length());
+        options.ruleSelection.addAll(List.of(value.split(",")));
+        continue;
+      }
+
+      if ("--include-generated".equals(arg)) {
+        options.generatedSourcesIncluded = true;
+        continue;
+      }
+
       if (arg.startsWith("--ignore-packages=")) {
         String[] keyValue = arg.split("=");
         String[] packages = keyValue[1].split(",");
-        Stream.of(packages)
-          .map(PackageName::new)
-          .forEach(options.packagesToIgnore::add);
+        options.ignoredPackagePatterns.addAll(List.of(packages));
+        continue;
+      }
+
+      if (arg.startsWith("--ignore-paths=")) {
+        String[] keyValue = arg.split("=");
+        String[] paths = keyValue[1].split(",");
+        options.ignoredPathPatterns.addAll(List.of(paths));
       }
     }
     return options;
@@ -35,7 +122,73 @@ final class RistrettoOptions {
     return standardErrorOutputEnabled;
   }
 
-  boolean isIncluded(PackageName packageName) {
-    return !packagesToIgnore.contains(packageName);
+  Verbosity verbosity() {
+    return verbosity;
+  }
+
+  int diagnosticsLimitPerRule() {
+    return diagnosticsLimitPerRule;
+  }
+
+  Path logFile() {
+    return logFile;
+  }
+
+  int logBufferSize() {
+    return logBufferSize;
+  }
+
+  LogOverflow logOverflow() {
+    return logOverflow;
+  }
+
+  int threads() {
+    return threads;
+  }
+
+  List<String> ignoredPackagePatterns() {
+    return ignoredPackagePatterns;
+  }
+
+  List<String> ignoredPathPatterns() {
+    return ignoredPathPatterns;
+  }
+
+  boolean isTimingsEnabled() {
+    return timingsEnabled;
+  }
+
+  int slowestUnitsReported() {
+    return slowestUnitsReported;
+  }
+
+  Optional<String> buildId() {
+    return Optional.ofNullable(buildId);
+  }
+
+  Path buildSummaryFile() {
+    if (buildSummaryFile == null) {
+      return Path.of(String.format("ristretto-%s.summary", buildId));
+    }
+    return buildSummaryFile;
+  }
+
+  List<String> ruleSelection() {
+    return ruleSelection;
+  }
+
+  boolean isGeneratedSourcesIncluded() {
+    return generatedSourcesIncluded;
+  }
+
+  enum Verbosity {
+    SUMMARY,
+    CHANGES,
+    ALL
+  }
+
+  enum LogOverflow {
+    BLOCK,
+    DROP
   }
 }
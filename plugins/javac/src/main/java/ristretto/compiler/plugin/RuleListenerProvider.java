@@ -0,0 +1,8 @@
+package ristretto.compiler.plugin;
+
+import com.sun.source.util.JavacTask;
+
+public interface RuleListenerProvider {
+
+  DefaultModifierRule.Listener create(JavacTask task, String ruleId);
+}
@@ -0,0 +1,12 @@
+package ristretto.compiler.plugin;
+
+public interface RuleProvider {
+
+  String id();
+
+  default boolean isEnabledByDefault() {
+    return true;
+  }
+
+  DefaultModifierRule create(DefaultModifierRule.Listener listener);
+}
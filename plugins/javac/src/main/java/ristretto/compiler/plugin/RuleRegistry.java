@@ -0,0 +1,86 @@
+package ristretto.compiler.plugin;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+final class RuleRegistry {
+
+  private final Map<String, RuleProvider> providers = new LinkedHashMap<>();
+
+  private RuleRegistry() {
+  }
+
+  static RuleRegistry load(ClassLoader classLoader) {
+    return of(ServiceLoader.load(RuleProvider.class, classLoader));
+  }
+
+  static RuleRegistry of(Iterable<? extends RuleProvider> additionalProviders) {
+    var registry = new RuleRegistry();
+    for (RuleProvider provider : BuiltInRule.values()) {
+      registry.register(provider);
+    }
+    for (RuleProvider provider : additionalProviders) {
+      registry.register(provider);
+    }
+    return registry;
+  }
+
+  private void register(RuleProvider provider) {
+    RuleProvider previous = providers.putIfAbsent(provider.id(), provider);
+    if (previous != null) {
+      throw new IllegalArgumentException(String.format(
+        "rule id '%s' is provided by both %s and %s",
+        provider.id(),
+        previous.getClass().getName(),
+        provider.getClass().getName()
+      ));
+    }
+  }
+
+  List<RuleProvider> select(List<String> selection) {
+    Set<String> enabled = providers.values().stream()
+      .filter(RuleProvider::isEnabledByDefault)
+      .map(RuleProvider::id)
+      .collect(Collectors.toCollection(LinkedHashSet::new));
+
+    for (int i = 0; i < selection.size(); i++) {
+      String entry = selection.get(i);
+
+      if (entry.startsWith("-")) {
+        enabled.remove(knownId(entry.substring(1)));
+        continue;
+      }
+
+      if (entry.startsWith("+")) {
+        enabled.add(knownId(entry.substring(1)));
+        continue;
+      }
+
+      if (i == 0) {
+        enabled.clear();
+      }
+      enabled.add(knownId(entry));
+    }
+
+    List<RuleProvider> selected = new ArrayList<>(enabled.size());
+    for (RuleProvider provider : providers.values()) {
+      if (enabled.contains(provider.id())) {
+        selected.add(provider);
+      }
+    }
+    return selected;
+  }
+
+  private String knownId(String id) {
+    if (!providers.containsKey(id)) {
+      throw new IllegalArgumentException(String.format("unknown rule: '%s', available rules: %s", id, providers.keySet()));
+    }
+    return id;
+  }
+}
@@ -0,0 +1,91 @@
+package ristretto.compiler.plugin;
+
+import com.sun.source.tree.AnnotationTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.Tree;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.List;
+
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+final class SourceFilter {
+
+  private final KnownNames names;
+  private final PackagePatterns ignoredPackages;
+  private final List<PathMatcher> ignoredPaths;
+  private final boolean generatedSourcesIncluded;
+
+  private SourceFilter(KnownNames names, PackagePatterns ignoredPackages, List<PathMatcher> ignoredPaths, boolean generatedSourcesIncluded) {
+    this.names = names;
+    this.ignoredPackages = ignoredPackages;
+    this.ignoredPaths = ignoredPaths;
+    this.generatedSourcesIncluded = generatedSourcesIncluded;
+  }
+
+  static SourceFilter of(RistrettoOptions options, KnownNames names) {
+    PackagePatterns ignoredPackages = PackagePatterns.compile(options.ignoredPackagePatterns(), names);
+    List<PathMatcher> ignoredPaths = options.ignoredPathPatterns()
+      .stream()
+      .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
+      .collect(toUnmodifiableList());
+
+    return new SourceFilter(names, ignoredPackages, ignoredPaths, options.isGeneratedSourcesIncluded());
+  }
+
+  boolean isIncluded(CompilationUnitTree compilationUnit) {
+    if (!ignoredPackages.isEmpty() && ignoredPackages.matches(compilationUnit.getPackageName())) {
+      return false;
+    }
+
+    if (!ignoredPaths.isEmpty() && isIgnoredPath(compilationUnit)) {
+      return false;
+    }
+
+    return generatedSourcesIncluded || !isGenerated(compilationUnit);
+  }
+
+  private boolean isIgnoredPath(CompilationUnitTree compilationUnit) {
+    String path = compilationUnit.getSourceFile().toUri().getPath();
+    if (path == null) {
+      return false;
+    }
+
+    Path sourcePath = Path.of(path);
+    for (PathMatcher matcher : ignoredPaths) {
+      if (matcher.matches(sourcePath)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isGenerated(CompilationUnitTree compilationUnit) {
+    for (Tree typeDeclaration : compilationUnit.getTypeDecls()) {
+      if (!(typeDeclaration instanceof ClassTree)) {
+        continue;
+      }
+      for (AnnotationTree annotation : ((ClassTree) typeDeclaration).getModifiers().getAnnotations()) {
+        if (isGeneratedAnnotation(annotation.getAnnotationType())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private boolean isGeneratedAnnotation(Tree annotationType) {
+    if (annotationType instanceof IdentifierTree) {
+      return ((IdentifierTree) annotationType).getName() == names.generated();
+    }
+    if (annotationType instanceof MemberSelectTree) {
+      return ((MemberSelectTree) annotationType).getIdentifier() == names.generated();
+    }
+    return false;
+  }
+}
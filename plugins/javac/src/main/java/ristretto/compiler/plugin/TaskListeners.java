@@ -1,5 +1,6 @@
 package ristretto.compiler.plugin;
 
+import com.sun.source.tree.CompilationUnitTree;
 import com.sun.source.util.TaskEvent;
 import com.sun.source.util.TaskListener;
 
@@ -22,6 +23,17 @@ final class TaskListeners {
     };
   }
 
+  static TaskListener onStarted(Predicate<TaskEvent> predicate, Runnable action) {
+    return new TaskListener() {
+      @Override
+      public void started(TaskEvent event) {
+        if (predicate.test(event)) {
+          action.run();
+        }
+      }
+    };
+  }
+
   static TaskListener onFinished(Predicate<TaskEvent> predicate, Runnable action) {
     return new TaskListener() {
       @Override
@@ -37,7 +49,7 @@ final class TaskListeners {
     return event -> kind.equals(event.getKind());
   }
 
-  static Predicate<TaskEvent> whenPackageName(Predicate<PackageName> predicate) {
-    return event -> predicate.test(new PackageName(event.getCompilationUnit()));
+  static Predicate<TaskEvent> whenCompilationUnit(Predicate<CompilationUnitTree> predicate) {
+    return event -> predicate.test(event.getCompilationUnit());
   }
 }
@@ -0,0 +1,191 @@
+package ristretto.compiler.plugin;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+
+final class UnitTimings {
+
+  private static final Comparator<SlowUnit> BY_ELAPSED_TIME = Comparator.comparingLong(unit -> unit.nanos);
+
+  private final List<String> ruleIds;
+  private final LogHistogram[] ruleHistograms;
+  private final LogHistogram unitHistogram = new LogHistogram();
+  private final int slowestUnitsLimit;
+  private final PriorityQueue<SlowUnit> slowestUnits = new PriorityQueue<>(BY_ELAPSED_TIME);
+
+  UnitTimings(List<String> ruleIds, int slowestUnitsLimit) {
+    this.ruleIds = List.copyOf(ruleIds);
+    this.ruleHistograms = new LogHistogram[ruleIds.size()];
+    for (int i = 0; i < ruleHistograms.length; i++) {
+      ruleHistograms[i] = new LogHistogram();
+    }
+    this.slowestUnitsLimit = slowestUnitsLimit;
+  }
+
+  List<String> ruleIds() {
+    return ruleIds;
+  }
+
+  ScannedUnit scan(CompilationUnitContext context, List<? extends DeclarationVisitor> rules) {
+    long start = System.nanoTime();
+
+    TimedRule[] timedRules = new TimedRule[rules.size()];
+    DeclarationVisitor visitor = timedRules[0] = new TimedRule(rules.get(0));
+    for (int i = 1; i < timedRules.length; i++) {
+      timedRules[i] = new TimedRule(rules.get(i));
+      visitor = visitor.andThen(timedRules[i]);
+    }
+
+    VariableScanner.scan(context, visitor);
+
+    long elapsed = System.nanoTime() - start;
+    long[] ruleNanos = new long[timedRules.length];
+    for (int i = 0; i < timedRules.length; i++) {
+      ruleNanos[i] = timedRules[i].nanos;
+      ruleHistograms[i].record(ruleNanos[i]);
+    }
+    unitHistogram.record(elapsed);
+    recordSlowUnit(context.compilationUnit().getSourceFile().getName(), elapsed);
+    return new ScannedUnit(elapsed, timedRules[0].declarations, ruleNanos);
+  }
+
+  private synchronized void recordSlowUnit(String file, long nanos) {
+    if (slowestUnits.size() < slowestUnitsLimit) {
+      slowestUnits.add(new SlowUnit(file, nanos));
+      return;
+    }
+
+    SlowUnit fastest = slowestUnits.peek();
+    if (fastest != null && fastest.nanos < nanos) {
+      slowestUnits.poll();
+      slowestUnits.add(new SlowUnit(file, nanos));
+    }
+  }
+
+  List<String> summary() {
+    List<String> lines = new ArrayList<>();
+    lines.add("timings:");
+    lines.add("| pass                                     | count   | total ms  | mean us | p50 us  | p99 us  | max us  |");
+    lines.add("|------------------------------------------|---------|-----------|---------|---------|---------|---------|");
+    for (int i = 0; i < ruleIds.size(); i++) {
+      lines.add(formatHistogram(ruleIds.get(i), ruleHistograms[i]));
+    }
+    lines.add(formatHistogram("compilation unit", unitHistogram));
+
+    List<SlowUnit> slowest;
+    synchronized (this) {
+      slowest = new ArrayList<>(slowestUnits);
+    }
+    slowest.sort(BY_ELAPSED_TIME.reversed());
+
+    if (!slowest.isEmpty()) {
+      lines.add(String.format("slowest %,d compilation units:", slowest.size()));
+      slowest.forEach(unit -> lines.add(String.format("%,12.3f ms %s", unit.nanos / 1e6, unit.file)));
+    }
+    return lines;
+  }
+
+  private static String formatHistogram(String name, LogHistogram histogram) {
+    return String.format(
+      "| %-40s | %,7d | %,9.3f | %,7d | %,7d | %,7d | %,7d |",
+      name,
+      histogram.count(),
+      histogram.total() / 1e6,
+      histogram.mean() / 1_000,
+      histogram.percentile(50) / 1_000,
+      histogram.percentile(99) / 1_000,
+      histogram.max() / 1_000
+    );
+  }
+
+  static final class ScannedUnit {
+
+    final long nanos;
+    final long declarations;
+    final long[] ruleNanos;
+
+    ScannedUnit(long nanos, long declarations, long[] ruleNanos) {
+      this.nanos = nanos;
+      this.declarations = declarations;
+      this.ruleNanos = ruleNanos;
+    }
+  }
+
+  private static final class SlowUnit {
+
+    final String file;
+    final long nanos;
+
+    SlowUnit(String file, long nanos) {
+      this.file = file;
+      this.nanos = nanos;
+    }
+  }
+
+  private static final class TimedRule implements DeclarationVisitor {
+
+    private final DeclarationVisitor rule;
+    long nanos = 0;
+    long declarations = 0;
+
+    TimedRule(DeclarationVisitor rule) {
+      this.rule = rule;
+    }
+
+    @Override
+    public void visitLocalVariable(ModifierTarget localVariable) {
+      declarations++;
+      timed(DeclarationVisitor::visitLocalVariable, localVariable);
+    }
+
+    @Override
+    public void visitField(ModifierTarget field) {
+      declarations++;
+      timed(DeclarationVisitor::visitField, field);
+    }
+
+    // visitClassField and visitEnumField follow visitField for the same declaration, so they are not counted again
+    @Override
+    public void visitClassField(ModifierTarget field) {
+      timed(DeclarationVisitor::visitClassField, field);
+    }
+
+    @Override
+    public void visitEnumField(ModifierTarget field) {
+      timed(DeclarationVisitor::visitEnumField, field);
+    }
+
+    @Override
+    public void visitParameter(ModifierTarget parameter) {
+      declarations++;
+      timed(DeclarationVisitor::visitParameter, parameter);
+    }
+
+    @Override
+    public void visitClassConstructor(ModifierTarget constructor) {
+      declarations++;
+      timed(DeclarationVisitor::visitClassConstructor, constructor);
+    }
+
+    @Override
+    public void visitClassMethod(ModifierTarget method) {
+      declarations++;
+      timed(DeclarationVisitor::visitClassMethod, method);
+    }
+
+    @Override
+    public void visitEnumMethod(ModifierTarget method) {
+      declarations++;
+      timed(DeclarationVisitor::visitEnumMethod, method);
+    }
+
+    private void timed(BiConsumer<DeclarationVisitor, ModifierTarget> visit, ModifierTarget declaration) {
+      long start = System.nanoTime();
+      visit.accept(rule, declaration);
+      nanos += System.nanoTime() - start;
+    }
+  }
+}
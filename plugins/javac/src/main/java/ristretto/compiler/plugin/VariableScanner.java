@@ -1,74 +1,172 @@
 package ristretto.compiler.plugin;
 
+import com.sun.source.tree.AnnotatedTypeTree;
+import com.sun.source.tree.AnnotationTree;
+import com.sun.source.tree.ArrayTypeTree;
+import com.sun.source.tree.BinaryTree;
 import com.sun.source.tree.BlockTree;
 import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ExpressionTree;
 import com.sun.source.tree.ForLoopTree;
+import com.sun.source.tree.ImportTree;
+import com.sun.source.tree.InstanceOfTree;
+import com.sun.source.tree.IntersectionTypeTree;
+import com.sun.source.tree.MemberReferenceTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewArrayTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ParameterizedTypeTree;
 import com.sun.source.tree.Tree;
+import com.sun.source.tree.TypeCastTree;
+import com.sun.source.tree.TypeParameterTree;
+import com.sun.source.tree.UnionTypeTree;
 import com.sun.source.tree.VariableTree;
+import com.sun.source.tree.WildcardTree;
 import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.tree.JCTree;
 
-import javax.tools.JavaFileObject;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
 
 final class VariableScanner extends TreeScanner<Void, VariableScanner.Scope> {
 
-  private final JavaFileObject javaFile;
-  private final Visitor visitor;
-  private final AnnotationNameResolver resolver;
+  private static final int MAX_RECURSION_DEPTH = 100;
+  private static final int INITIAL_STACK_SIZE = 64;
+  // javac 16+ binds pattern variables in instanceof, javac 11 only has the tested type, which declares nothing
+  private static final MethodHandle INSTANCE_OF_PATTERN = instanceOfPattern();
 
-  private VariableScanner(JavaFileObject javaFile, Visitor visitor, AnnotationNameResolver resolver) {
-    this.javaFile = javaFile;
+  private final DeclarationCursor cursor;
+  private final DeclarationVisitor visitor;
+  private int depth = 0;
+  private boolean iterating = false;
+  private Tree[] pendingTrees = new Tree[INITIAL_STACK_SIZE];
+  private Scope[] pendingScopes = new Scope[INITIAL_STACK_SIZE];
+  private int pending = 0;
+
+  private VariableScanner(CompilationUnitContext context, DeclarationVisitor visitor) {
+    this.cursor = new DeclarationCursor(context);
     this.visitor = visitor;
-    this.resolver = resolver;
   }
 
-  static void scan(CompilationUnitTree compilationUnit, Visitor visitor) {
-    AnnotationNameResolver resolver = new AnnotationNameResolver(ImportDeclaration.of(compilationUnit.getImports()));
+  static void scan(CompilationUnitTree compilationUnit, KnownNames names, DeclarationVisitor visitor) {
+    scan(CompilationUnitContext.of(compilationUnit, names), visitor);
+  }
+
+  static void scan(CompilationUnitContext context, DeclarationVisitor visitor) {
+    new VariableScanner(context, visitor).scan(context.compilationUnit(), Scope.COMPILATION_UNIT);
+  }
+
+  @Override
+  public Void scan(Tree tree, Scope scope) {
+    if (tree == null || isLeaf(tree)) {
+      return null;
+    }
+
+    if (depth < MAX_RECURSION_DEPTH) {
+      depth++;
+      tree.accept(this, scope);
+      depth--;
+      return null;
+    }
+
+    if (iterating) {
+      push(tree, scope);
+      return null;
+    }
+
+    iterating = true;
+    traverse(tree, scope);
+    iterating = false;
+    return null;
+  }
+
+  private static boolean isLeaf(Tree tree) {
+    return tree instanceof JCTree.JCLiteral || tree instanceof JCTree.JCIdent;
+  }
+
+  private void traverse(Tree root, Scope scope) {
+    push(root, scope);
+    while (pending > 0) {
+      pending--;
+      Tree tree = pendingTrees[pending];
+      Scope treeScope = pendingScopes[pending];
+      pendingTrees[pending] = null;
+
+      int firstChild = pending;
+      tree.accept(this, treeScope);
+      reversePending(firstChild);
+    }
+  }
+
+  private void push(Tree tree, Scope scope) {
+    if (pending == pendingTrees.length) {
+      pendingTrees = Arrays.copyOf(pendingTrees, pending * 2);
+      pendingScopes = Arrays.copyOf(pendingScopes, pending * 2);
+    }
+    pendingTrees[pending] = tree;
+    pendingScopes[pending] = scope;
+    pending++;
+  }
+
+  private void reversePending(int from) {
+    for (int i = from, j = pending - 1; i < j; i++, j--) {
+      Tree tree = pendingTrees[i];
+      pendingTrees[i] = pendingTrees[j];
+      pendingTrees[j] = tree;
+
+      Scope scope = pendingScopes[i];
+      pendingScopes[i] = pendingScopes[j];
+      pendingScopes[j] = scope;
+    }
+  }
 
-    compilationUnit.accept(
-      new VariableScanner(compilationUnit.getSourceFile(), visitor, resolver),
-      Scope.COMPILATION_UNIT
-    );
+  @Override
+  public Void visitCompilationUnit(CompilationUnitTree compilationUnit, Scope scope) {
+    return scan(compilationUnit.getTypeDecls(), scope);
   }
 
   @Override
   public Void visitClass(ClassTree aClass, Scope scope) {
     if (aClass.getKind().equals(Tree.Kind.ENUM)) {
-      return super.visitClass(aClass, Scope.ENUM);
+      return scan(aClass.getMembers(), Scope.ENUM);
     }
 
     if (aClass.getKind().equals(Tree.Kind.INTERFACE)) {
-      return super.visitClass(aClass, Scope.INTERFACE);
+      return scan(aClass.getMembers(), Scope.INTERFACE);
     }
 
-    return super.visitClass(aClass, Scope.CLASS);
+    return scan(aClass.getMembers(), Scope.CLASS);
   }
 
   @Override
   public Void visitMethod(MethodTree method, Scope scope) {
-    JCMethodDeclWrapper wrapper = new JCMethodDeclWrapper(javaFile, method, resolver);
+    ModifierTarget target = cursor.moveTo((JCTree.JCMethodDecl) method);
 
     switch (scope) {
       case CLASS:
         if (method.getReturnType() == null) {
-          visitor.visitClassConstructor(wrapper);
+          visitor.visitClassConstructor(target);
         } else {
-          visitor.visitClassMethod(wrapper);
+          visitor.visitClassMethod(target);
         }
         break;
       case ENUM:
         if (method.getReturnType() != null) {
-          visitor.visitEnumMethod(wrapper);
+          visitor.visitEnumMethod(target);
         }
         break;
     }
 
-    if (method.getBody() == null) {
-      return super.visitMethod(method, Scope.ABSTRACT_METHOD);
-    }
-
-    return super.visitMethod(method, Scope.METHOD);
+    Scope methodScope = method.getBody() == null ? Scope.ABSTRACT_METHOD : Scope.METHOD;
+    scan(method.getReceiverParameter(), methodScope);
+    scan(method.getParameters(), methodScope);
+    return scan(method.getBody(), methodScope);
   }
 
   @Override
@@ -83,54 +181,156 @@ final class VariableScanner extends TreeScanner<Void, VariableScanner.Scope> {
 
   @Override
   public Void visitVariable(VariableTree variable, Scope scope) {
-    JCVariableDeclWrapper wrapper = new JCVariableDeclWrapper(javaFile, variable, resolver);
+    ModifierTarget target = cursor.moveTo((JCTree.JCVariableDecl) variable);
 
     switch (scope) {
       case BLOCK:
-        visitor.visitLocalVariable(wrapper);
+        visitor.visitLocalVariable(target);
         break;
       case CLASS:
-        visitor.visitField(wrapper);
-        visitor.visitClassField(wrapper);
+        visitor.visitField(target);
+        visitor.visitClassField(target);
         break;
       case ENUM:
-        visitor.visitField(wrapper);
-        visitor.visitEnumField(wrapper);
+        visitor.visitField(target);
+        visitor.visitEnumField(target);
         break;
       case METHOD:
-        visitor.visitParameter(wrapper);
+        visitor.visitParameter(target);
         break;
     }
-    return super.visitVariable(variable, scope);
+    return scan(variable.getInitializer(), scope);
   }
 
-  interface Visitor {
-
-    default void visitLocalVariable(ModifierTarget localVariable) {
+  @Override
+  public Void visitBinary(BinaryTree binary, Scope scope) {
+    JCTree.JCExpression operand = (JCTree.JCBinary) binary;
+    while (operand instanceof JCTree.JCBinary && isLeaf(((JCTree.JCBinary) operand).rhs)) {
+      operand = ((JCTree.JCBinary) operand).lhs;
     }
 
-    default void visitField(ModifierTarget field) {
+    if (operand == binary) {
+      return super.visitBinary(binary, scope);
     }
+    return scan(operand, scope);
+  }
 
-    default void visitClassField(ModifierTarget field) {
+  @Override
+  public Void visitMemberSelect(MemberSelectTree memberSelect, Scope scope) {
+    ExpressionTree selected = memberSelect.getExpression();
+    while (selected instanceof JCTree.JCFieldAccess) {
+      selected = ((JCTree.JCFieldAccess) selected).getExpression();
     }
+    return scan(selected, scope);
+  }
 
-    default void visitEnumField(ModifierTarget field) {
-    }
+  @Override
+  public Void visitMethodInvocation(MethodInvocationTree methodInvocation, Scope scope) {
+    scan(methodInvocation.getMethodSelect(), scope);
+    return scan(methodInvocation.getArguments(), scope);
+  }
 
-    default void visitParameter(ModifierTarget parameter) {
-    }
+  @Override
+  public Void visitNewClass(NewClassTree newClass, Scope scope) {
+    scan(newClass.getEnclosingExpression(), scope);
+    scan(newClass.getArguments(), scope);
+    return scan(newClass.getClassBody(), scope);
+  }
 
-    default void visitClassConstructor(ModifierTarget constructor) {
+  @Override
+  public Void visitNewArray(NewArrayTree newArray, Scope scope) {
+    scan(newArray.getDimensions(), scope);
+    return scan(newArray.getInitializers(), scope);
+  }
+
+  @Override
+  public Void visitTypeCast(TypeCastTree typeCast, Scope scope) {
+    return scan(typeCast.getExpression(), scope);
+  }
+
+  @Override
+  public Void visitInstanceOf(InstanceOfTree instanceOf, Scope scope) {
+    scan(instanceOf.getExpression(), scope);
+    return scan(pattern(instanceOf), scope);
+  }
+
+  private static Tree pattern(InstanceOfTree instanceOf) {
+    if (INSTANCE_OF_PATTERN == null) {
+      return null;
     }
 
-    default void visitClassMethod(ModifierTarget method) {
+    try {
+      return (Tree) INSTANCE_OF_PATTERN.invokeExact(instanceOf);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
     }
+  }
 
-    default void visitEnumMethod(ModifierTarget method) {
+  private static MethodHandle instanceOfPattern() {
+    try {
+      Method getPattern = InstanceOfTree.class.getMethod("getPattern");
+      return MethodHandles.publicLookup()
+        .unreflect(getPattern)
+        .asType(MethodType.methodType(Tree.class, InstanceOfTree.class));
+    } catch (NoSuchMethodException e) {
+      return null;
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
     }
   }
 
+  @Override
+  public Void visitMemberReference(MemberReferenceTree memberReference, Scope scope) {
+    return scan(memberReference.getQualifierExpression(), scope);
+  }
+
+  @Override
+  public Void visitImport(ImportTree anImport, Scope scope) {
+    return null;
+  }
+
+  @Override
+  public Void visitAnnotation(AnnotationTree annotation, Scope scope) {
+    return null;
+  }
+
+  @Override
+  public Void visitAnnotatedType(AnnotatedTypeTree annotatedType, Scope scope) {
+    return null;
+  }
+
+  @Override
+  public Void visitArrayType(ArrayTypeTree arrayType, Scope scope) {
+    return null;
+  }
+
+  @Override
+  public Void visitParameterizedType(ParameterizedTypeTree parameterizedType, Scope scope) {
+    return null;
+  }
+
+  @Override
+  public Void visitUnionType(UnionTypeTree unionType, Scope scope) {
+    return null;
+  }
+
+  @Override
+  public Void visitIntersectionType(IntersectionTypeTree intersectionType, Scope scope) {
+    return null;
+  }
+
+  @Override
+  public Void visitTypeParameter(TypeParameterTree typeParameter, Scope scope) {
+    return null;
+  }
+
+  @Override
+  public Void visitWildcard(WildcardTree wildcard, Scope scope) {
+    return null;
+  }
+
   enum Scope {
     ABSTRACT_METHOD,
     BLOCK,
@@ -1,21 +1,47 @@
 package ristretto.compiler.plugin;
 
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.VariableTree;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import ristretto.Mutable;
 import ristretto.PackagePrivate;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 
 public class AnnotationNameResolverTest {
 
-  AnnotationNameResolver resolver;
+  private final TestCompiler compiler = new TestCompiler();
+  private final List<String> imports = new ArrayList<>();
+  private String packageName = "test";
+
+  private boolean isMutable(String annotationName) {
+    return (resolve(annotationName) & AnnotationNameResolver.MUTABLE_ANNOTATION) != 0;
+  }
+
+  private boolean isPackagePrivate(String annotationName) {
+    return (resolve(annotationName) & AnnotationNameResolver.PACKAGE_PRIVATE_ANNOTATION) != 0;
+  }
+
+  private int resolve(String annotationName) {
+    List<String> lines = new ArrayList<>();
+    lines.add("package " + packageName + ";");
+    imports.forEach(importDeclaration -> lines.add("import " + importDeclaration + ";"));
+    lines.add("public class Sample {");
+    lines.add("  @" + annotationName + " int field;");
+    lines.add("}");
+
+    TestCompiler.ParsedSource source = compiler.parse(TestCompiler.SourceCode.of(lines.toArray(String[]::new)));
+    ClassTree sample = (ClassTree) source.compilationUnit.getTypeDecls().get(0);
+    VariableTree field = (VariableTree) sample.getMembers().get(0);
 
-  @BeforeEach
-  void beforeEach() {
-    resolver = new AnnotationNameResolver();
+    return AnnotationNameResolver.of(source.compilationUnit, source.names)
+      .resolve(field.getModifiers().getAnnotations());
   }
 
   @Nested
@@ -26,17 +52,17 @@ public class AnnotationNameResolverTest {
 
       @BeforeEach
       void beforeEach() {
-        resolver.importClass(Mutable.class.getName());
+        imports.add(Mutable.class.getName());
       }
 
       @Test
       void resolves_qualified_name() {
-        assertThat(resolver.isMutable(Mutable.class.getName()), is(true));
+        assertThat(isMutable(Mutable.class.getName()), is(true));
       }
 
       @Test
       void resolves_simple_name() {
-        assertThat(resolver.isMutable(Mutable.class.getSimpleName()), is(true));
+        assertThat(isMutable(Mutable.class.getSimpleName()), is(true));
       }
     }
 
@@ -45,17 +71,17 @@ public class AnnotationNameResolverTest {
 
       @BeforeEach
       void beforeEach() {
-        resolver.importClass("ristretto.*");
+        imports.add("ristretto.*");
       }
 
       @Test
       void resolves_qualified_name() {
-        assertThat(resolver.isMutable(Mutable.class.getName()), is(true));
+        assertThat(isMutable(Mutable.class.getName()), is(true));
       }
 
       @Test
       void resolves_simple_name() {
-        assertThat(resolver.isMutable(Mutable.class.getSimpleName()), is(true));
+        assertThat(isMutable(Mutable.class.getSimpleName()), is(true));
       }
     }
 
@@ -64,12 +90,37 @@ public class AnnotationNameResolverTest {
 
       @Test
       void resolves_qualified_name() {
-        assertThat(resolver.isMutable(Mutable.class.getName()), is(true));
+        assertThat(isMutable(Mutable.class.getName()), is(true));
+      }
+
+      @Test
+      void does_not_resolve_simple_name() {
+        assertThat(isMutable(Mutable.class.getSimpleName()), is(false));
+      }
+    }
+
+    @Nested
+    class when_a_wildcard_import_is_shadowed_by_an_import_of_another_mutable_class {
+
+      @BeforeEach
+      void beforeEach() {
+        imports.add("ristretto.*");
+        imports.add("some.other." + Mutable.class.getSimpleName());
+      }
+
+      @Test
+      void resolves_qualified_name() {
+        assertThat(isMutable(Mutable.class.getName()), is(true));
       }
 
       @Test
       void does_not_resolve_simple_name() {
-        assertThat(resolver.isMutable(Mutable.class.getSimpleName()), is(false));
+        assertThat(isMutable(Mutable.class.getSimpleName()), is(false));
+      }
+
+      @Test
+      void resolves_other_simple_names_from_the_wildcard_import() {
+        assertThat(isPackagePrivate(PackagePrivate.class.getSimpleName()), is(true));
       }
     }
 
@@ -78,31 +129,61 @@ public class AnnotationNameResolverTest {
 
       @BeforeEach
       void beforeEach() {
-        resolver.importClass("some.other." + Mutable.class.getSimpleName());
+        imports.add("some.other." + Mutable.class.getSimpleName());
       }
 
       @Test
       void resolves_qualified_name() {
-        assertThat(resolver.isMutable(Mutable.class.getName()), is(true));
+        assertThat(isMutable(Mutable.class.getName()), is(true));
       }
 
       @Test
       void does_not_resolve_simple_name() {
-        assertThat(resolver.isMutable(Mutable.class.getSimpleName()), is(false));
+        assertThat(isMutable(Mutable.class.getSimpleName()), is(false));
       }
 
       @Test
       void does_not_resolve_unknown_qualified_name() {
-        assertThat(resolver.isMutable("some.other." + Mutable.class.getSimpleName()), is(false));
+        assertThat(isMutable("some.other." + Mutable.class.getSimpleName()), is(false));
       }
 
       @Test
       void does_not_resolve_unknown_simple_name() {
-        assertThat(resolver.isMutable("SomeClass"), is(false));
+        assertThat(isMutable("SomeClass"), is(false));
       }
     }
   }
 
+  @Nested
+  class when_compilation_unit_is_in_the_annotation_package {
+
+    @BeforeEach
+    void beforeEach() {
+      packageName = Mutable.class.getPackageName();
+    }
+
+    @Test
+    void resolves_simple_names() {
+      assertThat(isMutable(Mutable.class.getSimpleName()), is(true));
+      assertThat(isPackagePrivate(PackagePrivate.class.getSimpleName()), is(true));
+    }
+
+    @Test
+    void does_not_resolve_simple_name_shadowed_by_single_type_import() {
+      imports.add("some.other." + Mutable.class.getSimpleName());
+
+      assertThat(isMutable(Mutable.class.getSimpleName()), is(false));
+      assertThat(isPackagePrivate(PackagePrivate.class.getSimpleName()), is(true));
+    }
+
+    @Test
+    void resolves_simple_name_imported_from_the_annotation_package() {
+      imports.add(Mutable.class.getName());
+
+      assertThat(isMutable(Mutable.class.getSimpleName()), is(true));
+    }
+  }
+
   @Nested
   class when_resolving_package_private_annotation {
 
@@ -111,17 +192,17 @@ public class AnnotationNameResolverTest {
 
       @BeforeEach
       void beforeEach() {
-        resolver.importClass(PackagePrivate.class.getName());
+        imports.add(PackagePrivate.class.getName());
       }
 
       @Test
       void resolves_qualified_name() {
-        assertThat(resolver.isPackagePrivate(PackagePrivate.class.getName()), is(true));
+        assertThat(isPackagePrivate(PackagePrivate.class.getName()), is(true));
       }
 
       @Test
       void resolves_simple_name() {
-        assertThat(resolver.isPackagePrivate(PackagePrivate.class.getSimpleName()), is(true));
+        assertThat(isPackagePrivate(PackagePrivate.class.getSimpleName()), is(true));
       }
     }
 
@@ -130,17 +211,17 @@ public class AnnotationNameResolverTest {
 
       @BeforeEach
       void beforeEach() {
-        resolver.importClass("ristretto.*");
+        imports.add("ristretto.*");
       }
 
       @Test
       void resolves_qualified_name() {
-        assertThat(resolver.isPackagePrivate(PackagePrivate.class.getName()), is(true));
+        assertThat(isPackagePrivate(PackagePrivate.class.getName()), is(true));
       }
 
       @Test
       void resolves_simple_name() {
-        assertThat(resolver.isPackagePrivate(PackagePrivate.class.getSimpleName()), is(true));
+        assertThat(isPackagePrivate(PackagePrivate.class.getSimpleName()), is(true));
       }
     }
 
@@ -149,12 +230,12 @@ public class AnnotationNameResolverTest {
 
       @Test
       void resolves_qualified_name() {
-        assertThat(resolver.isPackagePrivate(PackagePrivate.class.getName()), is(true));
+        assertThat(isPackagePrivate(PackagePrivate.class.getName()), is(true));
       }
 
       @Test
       void does_not_resolve_simple_name() {
-        assertThat(resolver.isPackagePrivate(PackagePrivate.class.getSimpleName()), is(false));
+        assertThat(isPackagePrivate(PackagePrivate.class.getSimpleName()), is(false));
       }
     }
 
@@ -163,27 +244,27 @@ public class AnnotationNameResolverTest {
 
       @BeforeEach
       void beforeEach() {
-        resolver.importClass("some.other." + PackagePrivate.class.getSimpleName());
+        imports.add("some.other." + PackagePrivate.class.getSimpleName());
       }
 
       @Test
       void resolves_qualified_name() {
-        assertThat(resolver.isPackagePrivate(PackagePrivate.class.getName()), is(true));
+        assertThat(isPackagePrivate(PackagePrivate.class.getName()), is(true));
       }
 
       @Test
       void does_not_resolve_simple_name() {
-        assertThat(resolver.isPackagePrivate(PackagePrivate.class.getSimpleName()), is(false));
+        assertThat(isPackagePrivate(PackagePrivate.class.getSimpleName()), is(false));
       }
 
       @Test
       void does_not_resolve_unknown_qualified_name() {
-        assertThat(resolver.isPackagePrivate("some.other." + PackagePrivate.class.getSimpleName()), is(false));
+        assertThat(isPackagePrivate("some.other." + PackagePrivate.class.getSimpleName()), is(false));
       }
 
       @Test
       void does_not_resolve_unknown_simple_name() {
-        assertThat(resolver.isPackagePrivate("SomeClass"), is(false));
+        assertThat(isPackagePrivate("SomeClass"), is(false));
       }
     }
   }
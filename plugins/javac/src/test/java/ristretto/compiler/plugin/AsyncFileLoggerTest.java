@@ -0,0 +1,155 @@
+package ristretto.compiler.plugin;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AsyncFileLoggerTest {
+
+  @TempDir
+  Path directory;
+
+  Path logFile;
+  ByteArrayOutputStream console;
+
+  @BeforeEach
+  void beforeEach() {
+    logFile = directory.resolve("ristretto.log");
+    console = new ByteArrayOutputStream();
+  }
+
+  AsyncFileLogger newLogger(int bufferSize, RistrettoOptions.LogOverflow overflow) {
+    return new AsyncFileLogger(logFile, bufferSize, overflow, new PrintStream(console, true, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void writes_diagnostics_and_summary_to_file_when_flushed() throws IOException {
+    var logger = newLogger(16, RistrettoOptions.LogOverflow.BLOCK);
+
+    logger.diagnostic("diagnostic 1");
+    logger.diagnostic("diagnostic 2");
+    logger.summary("summary");
+    logger.close();
+
+    assertThat(Files.readAllLines(logFile), is(List.of("diagnostic 1", "diagnostic 2", "summary")));
+  }
+
+  @Test
+  void prints_only_summary_to_console() {
+    var logger = newLogger(16, RistrettoOptions.LogOverflow.BLOCK);
+
+    logger.diagnostic("diagnostic");
+    logger.summary("summary");
+    logger.close();
+
+    assertThat(console.toString(StandardCharsets.UTF_8), containsString("summary"));
+    assertThat(console.toString(StandardCharsets.UTF_8), not(containsString("diagnostic")));
+  }
+
+  @Test
+  void keeps_all_diagnostics_when_blocking_on_overflow() throws IOException {
+    var logger = newLogger(1, RistrettoOptions.LogOverflow.BLOCK);
+
+    for (int i = 0; i < 1000; i++) {
+      logger.diagnostic("diagnostic " + i);
+    }
+    logger.close();
+
+    assertThat(Files.readAllLines(logFile).size(), is(1000));
+  }
+
+  @Test
+  void counts_dropped_diagnostics_when_dropping_on_overflow() throws IOException {
+    var logger = newLogger(1, RistrettoOptions.LogOverflow.DROP);
+
+    for (int i = 0; i < 1000; i++) {
+      logger.diagnostic("diagnostic " + i);
+    }
+    logger.close();
+
+    List<String> lines = Files.readAllLines(logFile);
+    long written = lines.stream().filter(line -> line.startsWith("diagnostic ")).count();
+    long dropped = lines.stream()
+      .filter(line -> line.endsWith(" diagnostics dropped because the log buffer was full"))
+      .map(line -> line.substring(0, line.indexOf(' ')).replace(",", ""))
+      .mapToLong(Long::parseLong)
+      .sum();
+
+    assertThat(written + dropped, is(1000L));
+  }
+
+  @Test
+  void shares_file_between_loggers_open_at_the_same_time() throws IOException {
+    var logger1 = newLogger(16, RistrettoOptions.LogOverflow.BLOCK);
+    var logger2 = newLogger(16, RistrettoOptions.LogOverflow.BLOCK);
+
+    logger1.diagnostic("task 1");
+    logger2.diagnostic("task 2");
+    logger1.close();
+    logger2.close();
+
+    assertThat(Files.readAllLines(logFile), containsInAnyOrder("task 1", "task 2"));
+  }
+
+  @Test
+  void releases_file_when_last_logger_is_closed() {
+    var logger1 = newLogger(16, RistrettoOptions.LogOverflow.BLOCK);
+    var logger2 = newLogger(16, RistrettoOptions.LogOverflow.BLOCK);
+
+    logger1.close();
+    assertThat(AsyncFileLogger.isOpen(logFile), is(true));
+
+    logger2.close();
+    assertThat(AsyncFileLogger.isOpen(logFile), is(false));
+  }
+
+  @Test
+  void ignores_records_after_being_closed() throws IOException {
+    var logger = newLogger(16, RistrettoOptions.LogOverflow.BLOCK);
+
+    logger.diagnostic("before");
+    logger.close();
+    logger.diagnostic("after");
+    logger.close();
+
+    assertThat(logger.isDiagnosticEnabled(), is(false));
+    assertThat(Files.readAllLines(logFile), is(List.of("before")));
+  }
+
+  @Test
+  void truncates_file_when_opened_again_after_release() throws IOException {
+    var first = newLogger(16, RistrettoOptions.LogOverflow.BLOCK);
+    first.diagnostic("first task");
+    first.close();
+
+    var second = newLogger(16, RistrettoOptions.LogOverflow.BLOCK);
+    second.diagnostic("second task");
+    second.close();
+
+    assertThat(Files.readAllLines(logFile), is(List.of("second task")));
+  }
+
+  @Test
+  void releases_file_when_it_cannot_be_opened() {
+    logFile = directory.resolve("missing").resolve("ristretto.log");
+
+    assertThrows(UncheckedIOException.class, () -> newLogger(16, RistrettoOptions.LogOverflow.BLOCK));
+    assertThat(AsyncFileLogger.isOpen(logFile), is(false));
+  }
+}
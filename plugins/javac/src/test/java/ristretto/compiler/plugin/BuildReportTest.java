@@ -0,0 +1,209 @@
+package ristretto.compiler.plugin;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ResourceLock(BuildReportTest.BUILDS)
+class BuildReportTest {
+
+  static final String BUILDS = "ristretto.compiler.plugin.BuildReport.BUILDS";
+
+  @TempDir
+  Path directory;
+
+  private final RecordingLogger logger = new RecordingLogger();
+
+  @Test
+  void writes_summary_when_the_last_task_finishes() throws IOException {
+    Path summaryFile = directory.resolve("build.summary");
+    String buildId = UUID.randomUUID().toString();
+    BuildReport first = BuildReport.join(buildId, summaryFile);
+    BuildReport second = BuildReport.join(buildId, summaryFile);
+
+    first.taskFinished(Map.of("SomeRule", new long[]{1, 2, 1}), 0, logger);
+
+    assertThat(Files.exists(summaryFile), is(false));
+
+    second.taskFinished(Map.of("SomeRule", new long[]{3, 0, 1}), 2, logger);
+
+    assertThat(Files.readAllLines(summaryFile), contains(
+      "build " + buildId + " summary of 2 compilation tasks:",
+      "| rule                                     | inspected   | added   | present | not added |",
+      "|------------------------------------------|-------------|---------|---------|-----------|",
+      "| SomeRule                                 |           8 |  50.00% |  25.00% |    25.00% |",
+      "2 compilation units skipped because they were already processed"
+    ));
+    assertThat(logger.summaries, hasItem("build " + buildId + " summary written to " + summaryFile));
+  }
+
+  @Test
+  void releases_build_when_the_last_task_finishes() {
+    Path summaryFile = directory.resolve("build.summary");
+    String buildId = UUID.randomUUID().toString();
+    BuildReport first = BuildReport.join(buildId, summaryFile);
+    BuildReport second = BuildReport.join(buildId, summaryFile);
+
+    first.taskFinished(Map.of(), 0, logger);
+    assertThat(BuildReport.isActive(buildId), is(true));
+
+    second.taskFinished(Map.of(), 0, logger);
+    assertThat(BuildReport.isActive(buildId), is(false));
+  }
+
+  @Test
+  void accumulates_counts_of_tasks_joining_after_the_last_task_finished() throws IOException {
+    Path summaryFile = directory.resolve("build.summary");
+    String buildId = UUID.randomUUID().toString();
+    BuildReport.join(buildId, summaryFile).taskFinished(Map.of("SomeRule", new long[]{1, 0, 0}), 0, logger);
+
+    BuildReport.join(buildId, summaryFile).taskFinished(Map.of("SomeRule", new long[]{0, 1, 0}), 0, logger);
+
+    assertThat(Files.readAllLines(summaryFile), contains(
+      "build " + buildId + " summary of 2 compilation tasks:",
+      "| rule                                     | inspected   | added   | present | not added |",
+      "|------------------------------------------|-------------|---------|---------|-----------|",
+      "| SomeRule                                 |           2 |  50.00% |  50.00% |     0.00% |"
+    ));
+  }
+
+  @Test
+  void forgets_finished_builds_when_another_build_starts() {
+    String finishedBuildId = UUID.randomUUID().toString();
+    String runningBuildId = UUID.randomUUID().toString();
+    BuildReport.join(finishedBuildId, directory.resolve("finished.summary")).taskFinished(Map.of(), 0, logger);
+    BuildReport running = BuildReport.join(runningBuildId, directory.resolve("running.summary"));
+
+    BuildReport next = BuildReport.join(UUID.randomUUID().toString(), directory.resolve("next.summary"));
+
+    assertThat(BuildReport.isKnown(finishedBuildId), is(false));
+    assertThat(BuildReport.isKnown(runningBuildId), is(true));
+    running.taskFinished(Map.of(), 0, logger);
+    next.taskFinished(Map.of(), 0, logger);
+  }
+
+  @Test
+  void writes_summary_of_finished_tasks_when_the_last_task_is_abandoned() throws IOException {
+    Path summaryFile = directory.resolve("build.summary");
+    String buildId = UUID.randomUUID().toString();
+    BuildReport finished = BuildReport.join(buildId, summaryFile);
+    BuildReport abandoned = BuildReport.join(buildId, summaryFile);
+
+    finished.taskFinished(Map.of("SomeRule", new long[]{1, 0, 0}), 0, logger);
+    abandoned.taskAbandoned(logger);
+
+    assertThat(BuildReport.isActive(buildId), is(false));
+    assertThat(Files.readAllLines(summaryFile), hasItem("build " + buildId + " summary of 1 compilation tasks:"));
+  }
+
+  @Test
+  void does_not_write_summary_when_no_task_finished() {
+    Path summaryFile = directory.resolve("build.summary");
+    String buildId = UUID.randomUUID().toString();
+
+    BuildReport.join(buildId, summaryFile).taskAbandoned(logger);
+
+    assertThat(BuildReport.isActive(buildId), is(false));
+    assertThat(Files.exists(summaryFile), is(false));
+  }
+
+  @Test
+  void rejects_tasks_joining_with_another_summary_file() {
+    String buildId = UUID.randomUUID().toString();
+    BuildReport first = BuildReport.join(buildId, directory.resolve("build.summary"));
+
+    var exception = assertThrows(
+      IllegalArgumentException.class,
+      () -> BuildReport.join(buildId, directory.resolve("other.summary"))
+    );
+
+    assertThat(exception.getMessage(), is(String.format(
+      "build %s already writes its summary to %s, cannot write it to %s",
+      buildId,
+      directory.resolve("build.summary"),
+      directory.resolve("other.summary")
+    )));
+
+    first.taskFinished(Map.of(), 0, logger);
+    assertThat(BuildReport.isActive(buildId), is(false));
+  }
+
+  @Test
+  void merges_counts_of_concurrent_tasks() throws Exception {
+    Path summaryFile = directory.resolve("build.summary");
+    String buildId = UUID.randomUUID().toString();
+    int tasks = 32;
+    List<BuildReport> reports = new ArrayList<>();
+    for (int i = 0; i < tasks; i++) {
+      reports.add(BuildReport.join(buildId, summaryFile));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> finished = new ArrayList<>();
+      for (BuildReport report : reports) {
+        finished.add(executor.submit(() -> report.taskFinished(
+          Map.of("FirstRule", new long[]{1, 0, 0}, "SecondRule", new long[]{0, 0, 1}),
+          0,
+          logger
+        )));
+      }
+      for (Future<?> future : finished) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(Files.readAllLines(summaryFile), hasItem(
+      "| FirstRule                                |          32 | 100.00% |   0.00% |     0.00% |"
+    ));
+    assertThat(Files.readAllLines(summaryFile), hasItem(
+      "| SecondRule                               |          32 |   0.00% |   0.00% |   100.00% |"
+    ));
+  }
+
+  private static final class RecordingLogger extends RistrettoLogger {
+
+    final List<String> summaries = new ArrayList<>();
+
+    @Override
+    synchronized void summary(String msg) {
+      summaries.add(msg);
+    }
+
+    @Override
+    void diagnostic(String msg) {
+    }
+
+    @Override
+    boolean isDiagnosticEnabled() {
+      return false;
+    }
+
+    @Override
+    void flush() {
+    }
+
+    @Override
+    void close() {
+    }
+  }
+}
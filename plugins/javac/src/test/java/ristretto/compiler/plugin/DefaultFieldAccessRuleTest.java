@@ -8,7 +8,8 @@ import java.util.List;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
-import static ristretto.compiler.plugin.TestCompilerMatchers.hasOutput;
+import static ristretto.compiler.plugin.TestCompiler.RuleEvent.Type.MODIFIER_ALREADY_PRESENT;
+import static ristretto.compiler.plugin.TestCompilerMatchers.hasRuleEvent;
 
 class DefaultFieldAccessRuleTest extends JavacPluginBaseTest {
 
@@ -136,7 +137,7 @@ class DefaultFieldAccessRuleTest extends JavacPluginBaseTest {
 
     var result = compile(classWithField);
 
-    assertThat(result, hasOutput("DefaultFieldAccessRule /test/TestSample.java:7 MODIFIER_ALREADY_PRESENT"));
+    assertThat(result, hasRuleEvent("field-private", "/test/TestSample.java:7", MODIFIER_ALREADY_PRESENT));
   }
 
 }
@@ -7,7 +7,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
-import static ristretto.compiler.plugin.TestCompilerMatchers.hasOutput;
+import static ristretto.compiler.plugin.TestCompiler.RuleEvent.Type.MODIFIER_ALREADY_PRESENT;
+import static ristretto.compiler.plugin.TestCompilerMatchers.hasRuleEvent;
 
 class DefaultFieldImmutabilityRuleTest extends JavacPluginBaseTest {
 
@@ -135,7 +136,7 @@ class DefaultFieldImmutabilityRuleTest extends JavacPluginBaseTest {
 
       var result = compile(code);
 
-      assertThat(result, hasOutput("DefaultFieldImmutabilityRule /test/TestSample.java:7 MODIFIER_ALREADY_PRESENT"));
+      assertThat(result, hasRuleEvent("field-final", "/test/TestSample.java:7", MODIFIER_ALREADY_PRESENT));
     }
 
     @Test
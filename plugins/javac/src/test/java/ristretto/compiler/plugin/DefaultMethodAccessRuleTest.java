@@ -9,7 +9,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
-import static ristretto.compiler.plugin.TestCompilerMatchers.hasOutput;
+import static ristretto.compiler.plugin.TestCompiler.RuleEvent.Type.MODIFIER_ALREADY_PRESENT;
+import static ristretto.compiler.plugin.TestCompiler.RuleEvent.Type.MODIFIER_NOT_ADDED;
+import static ristretto.compiler.plugin.TestCompilerMatchers.hasRuleEvent;
 
 class DefaultMethodAccessRuleTest extends JavacPluginBaseTest {
 
@@ -102,7 +104,7 @@ class DefaultMethodAccessRuleTest extends JavacPluginBaseTest {
     TestCompiler.Result result = compile(List.of(code, anotherClass));
 
     assertThat(result.diagnostics(), containsString("AnotherClass.java:7: error: msg(java.lang.String) is not public in ristretto.test.TestSample"));
-    assertThat(result, hasOutput("DefaultMethodAccessRule /test/TestSample.java:6 MODIFIER_NOT_ADDED"));
+    assertThat(result, hasRuleEvent("method-public", "/test/TestSample.java:6", MODIFIER_NOT_ADDED));
   }
 
   @Test
@@ -158,6 +160,6 @@ class DefaultMethodAccessRuleTest extends JavacPluginBaseTest {
 
     var result = compile(code);
 
-    assertThat(result, hasOutput("DefaultMethodAccessRule /test/TestSample.java:4 MODIFIER_ALREADY_PRESENT"));
+    assertThat(result, hasRuleEvent("method-public", "/test/TestSample.java:4", MODIFIER_ALREADY_PRESENT));
   }
 }
@@ -1,18 +1,21 @@
 package ristretto.compiler.plugin;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
 import static ristretto.compiler.plugin.TestCompilerMatchers.hasOutput;
 
 class DiagnosticsReportTest extends JavacPluginBaseTest {
 
+  TestCompiler.SourceCode code;
   TestCompiler.Result compilerResult;
 
   @BeforeEach
   void beforeEach() {
-    var code = TestCompiler.SourceCode.of(
+    code = TestCompiler.SourceCode.of(
       "package ristretto.test;",
       "",
       "import ristretto.PackagePrivate;",
@@ -40,17 +43,17 @@ class DiagnosticsReportTest extends JavacPluginBaseTest {
 
   @Test
   void prints_message_when_modifier_is_added() {
-    assertThat(compilerResult, hasOutput("DefaultFieldImmutabilityRule /test/TestSample.java:8 MODIFIER_ADDED"));
+    assertThat(compilerResult, hasOutput("field-final /test/TestSample.java:8 MODIFIER_ADDED"));
   }
 
   @Test
   void prints_message_when_modifier_is_already_present() {
-    assertThat(compilerResult, hasOutput("DefaultFieldImmutabilityRule /test/TestSample.java:9 MODIFIER_ALREADY_PRESENT"));
+    assertThat(compilerResult, hasOutput("field-final /test/TestSample.java:9 MODIFIER_ALREADY_PRESENT"));
   }
 
   @Test
   void prints_message_when_modifier_is_not_added() {
-    assertThat(compilerResult, hasOutput("DefaultFieldImmutabilityRule /test/TestSample.java:10 MODIFIER_NOT_ADDED"));
+    assertThat(compilerResult, hasOutput("field-final /test/TestSample.java:10 MODIFIER_NOT_ADDED"));
   }
 
   @Test
@@ -59,11 +62,141 @@ class DiagnosticsReportTest extends JavacPluginBaseTest {
       "summary:",
       "| rule                                     | inspected   | added   | present | not added |",
       "|------------------------------------------|-------------|---------|---------|-----------|",
-      "| DefaultFieldImmutabilityRule             |           3 |  33.33% |  33.33% |    33.33% |",
-      "| DefaultParameterImmutabilityRule         |           0 |       - |       - |         - |",
-      "| DefaultLocalVariableImmutabilityRule     |           0 |       - |       - |         - |",
-      "| DefaultFieldAccessRule                   |           3 | 100.00% |   0.00% |     0.00% |",
-      "| DefaultMethodAccessRule                  |           1 | 100.00% |   0.00% |     0.00% |"
+      "| field-final                              |           3 |  33.33% |  33.33% |    33.33% |",
+      "| parameter-final                          |           0 |       - |       - |         - |",
+      "| local-final                              |           0 |       - |       - |         - |",
+      "| field-private                            |           3 | 100.00% |   0.00% |     0.00% |",
+      "| method-public                            |           1 | 100.00% |   0.00% |     0.00% |"
     ));
   }
+
+  @Nested
+  class when_verbosity_is_summary {
+
+    @BeforeEach
+    void beforeEach() {
+      compilerResult = compile(code, "--verbosity=summary");
+    }
+
+    @Test
+    void does_not_print_diagnostics() {
+      assertThat(compilerResult, not(hasOutput("field-final /test/TestSample.java")));
+    }
+
+    @Test
+    void prints_summary() {
+      assertThat(compilerResult, hasOutput(
+        "| field-final                              |           3 |  33.33% |  33.33% |    33.33% |"
+      ));
+    }
+  }
+
+  @Nested
+  class when_verbosity_is_changes {
+
+    @BeforeEach
+    void beforeEach() {
+      compilerResult = compile(code, "--verbosity=changes");
+    }
+
+    @Test
+    void prints_message_when_modifier_is_added() {
+      assertThat(compilerResult, hasOutput("field-final /test/TestSample.java:8 MODIFIER_ADDED"));
+    }
+
+    @Test
+    void does_not_print_message_when_modifier_is_already_present() {
+      assertThat(compilerResult, not(hasOutput("MODIFIER_ALREADY_PRESENT")));
+    }
+
+    @Test
+    void does_not_print_message_when_modifier_is_not_added() {
+      assertThat(compilerResult, not(hasOutput("MODIFIER_NOT_ADDED")));
+    }
+  }
+
+  @Nested
+  class when_diagnostics_are_limited_per_rule {
+
+    @BeforeEach
+    void beforeEach() {
+      compilerResult = compile(code, "--max-diagnostics-per-rule=1");
+    }
+
+    @Test
+    void prints_diagnostics_up_to_the_limit() {
+      assertThat(compilerResult, hasOutput("field-final /test/TestSample.java:8 MODIFIER_ADDED"));
+      assertThat(compilerResult, not(hasOutput("field-final /test/TestSample.java:9 MODIFIER_ALREADY_PRESENT")));
+    }
+
+    @Test
+    void prints_message_when_the_limit_is_reached() {
+      assertThat(compilerResult, hasOutput(
+        "field-final reached the limit of 1 diagnostics, further diagnostics are suppressed"
+      ));
+    }
+
+    @Test
+    void counts_all_events_in_the_summary() {
+      assertThat(compilerResult, hasOutput(
+        "| field-final                              |           3 |  33.33% |  33.33% |    33.33% |"
+      ));
+    }
+  }
+
+  @Nested
+  class when_rules_are_disabled {
+
+    @BeforeEach
+    void beforeEach() {
+      compilerResult = compile(code, "--rules=-field-final,-local-final");
+    }
+
+    @Test
+    void does_not_report_disabled_rules() {
+      assertThat(compilerResult, not(hasOutput("field-final")));
+      assertThat(compilerResult, not(hasOutput("local-final")));
+    }
+
+    @Test
+    void prints_summary_of_enabled_rules() {
+      assertThat(compilerResult, hasOutput(
+        "|------------------------------------------|-------------|---------|---------|-----------|",
+        "| parameter-final                          |           0 |       - |       - |         - |",
+        "| field-private                            |           3 | 100.00% |   0.00% |     0.00% |",
+        "| method-public                            |           1 | 100.00% |   0.00% |     0.00% |"
+      ));
+    }
+  }
+
+  @Nested
+  class when_timings_are_enabled {
+
+    @BeforeEach
+    void beforeEach() {
+      compilerResult = compile(code, "--timings");
+    }
+
+    @Test
+    void prints_timings_per_rule_and_compilation_unit() {
+      assertThat(compilerResult, hasOutput(
+        "timings:",
+        "| pass                                     | count   | total ms  | mean us | p50 us  | p99 us  | max us  |",
+        "|------------------------------------------|---------|-----------|---------|---------|---------|---------|",
+        "| field-final                              |       1 |"
+      ));
+      assertThat(compilerResult, hasOutput("| compilation unit                         |       1 |"));
+    }
+
+    @Test
+    void prints_slowest_compilation_units() {
+      assertThat(compilerResult, hasOutput("slowest 1 compilation units:"));
+      assertThat(compilerResult, hasOutput(" ms /test/TestSample.java"));
+    }
+  }
+
+  @Test
+  void does_not_print_timings_by_default() {
+    assertThat(compilerResult, not(hasOutput("timings:")));
+  }
 }
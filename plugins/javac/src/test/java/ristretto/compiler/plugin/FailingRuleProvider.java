@@ -0,0 +1,19 @@
+package ristretto.compiler.plugin;
+
+public final class FailingRuleProvider implements RuleProvider {
+
+  @Override
+  public String id() {
+    return "failing";
+  }
+
+  @Override
+  public boolean isEnabledByDefault() {
+    return false;
+  }
+
+  @Override
+  public DefaultModifierRule create(DefaultModifierRule.Listener listener) {
+    throw new IllegalStateException("rule cannot be created");
+  }
+}
@@ -17,6 +17,10 @@ abstract class JavacPluginBaseTest {
     return compiler.compile(sourceCode, pluginArgs);
   }
 
+  final TestCompiler.Result compile(List<TestCompiler.SourceCode> sourceCode, List<String> compilerOptions, String... pluginArgs) {
+    return compiler.compile(sourceCode, compilerOptions, pluginArgs);
+  }
+
   final TestCompiler.Result compile(TestCompiler.SourceCode sourceCode, String... pluginArgs) {
     return compiler.compile(sourceCode, pluginArgs);
   }
@@ -1,9 +1,31 @@
 package ristretto.compiler.plugin;
 
+import com.sun.source.util.JavacTask;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ristretto.compiler.plugin.TestCompiler.RuleEvent.Type.MODIFIER_ADDED;
+import static ristretto.compiler.plugin.TestCompilerMatchers.hasOutput;
+import static ristretto.compiler.plugin.TestCompilerMatchers.hasRuleEvent;
 
 class JavacPluginTest extends JavacPluginBaseTest {
 
@@ -26,4 +48,316 @@ class JavacPluginTest extends JavacPluginBaseTest {
 
     assertThat(result, is("value:value"));
   }
+
+  @Test
+  void ignores_packages_matching_pattern() {
+    var code = TestCompiler.SourceCode.of(
+      "package ristretto.test;",
+      "",
+      "public class TestSample {",
+      "",
+      "  public static String test(String parameter) {",
+      "    parameter += \":value\";",
+      "    return parameter;",
+      "  }",
+      "",
+      "}"
+    );
+
+    var result = compile(code, "--ignore-packages=ristretto.**").invoke("ristretto.test.TestSample", "test", "value");
+
+    assertThat(result, is("value:value"));
+  }
+
+  @Test
+  void ignores_paths_matching_pattern() {
+    var code = TestCompiler.SourceCode.of(
+      "package ristretto.test;",
+      "",
+      "public class TestSample {",
+      "",
+      "  public static String test(String parameter) {",
+      "    parameter += \":value\";",
+      "    return parameter;",
+      "  }",
+      "",
+      "}"
+    );
+
+    var result = compile(code, "--ignore-paths=**/test/*.java").invoke("ristretto.test.TestSample", "test", "value");
+
+    assertThat(result, is("value:value"));
+  }
+
+  @Test
+  void ignores_generated_sources() {
+    var code = TestCompiler.SourceCode.of(
+      "package ristretto.test;",
+      "",
+      "import javax.annotation.processing.Generated;",
+      "",
+      "@Generated(\"some-generator\")",
+      "public class TestSample {",
+      "",
+      "  public static String test(String parameter) {",
+      "    parameter += \":value\";",
+      "    return parameter;",
+      "  }",
+      "",
+      "}"
+    );
+
+    var result = compile(code).invoke("ristretto.test.TestSample", "test", "value");
+
+    assertThat(result, is("value:value"));
+  }
+
+  @Test
+  void includes_generated_sources_when_specified() {
+    var code = TestCompiler.SourceCode.of(
+      "package ristretto.test;",
+      "",
+      "import javax.annotation.processing.Generated;",
+      "",
+      "@Generated(\"some-generator\")",
+      "public class TestSample {",
+      "",
+      "  public static String test(String parameter) {",
+      "    parameter += \":value\";",
+      "    return parameter;",
+      "  }",
+      "",
+      "}"
+    );
+
+    var result = compile(code, "--include-generated");
+
+    assertThat(result.diagnostics(), containsString("final parameter parameter may not be assigned"));
+  }
+
+  @Test
+  void analyses_compilation_units_in_parallel() {
+    var classNames = IntStream.range(0, 8)
+      .mapToObj(i -> "TestSample" + (char) ('A' + i))
+      .collect(Collectors.toList());
+
+    var sources = classNames.stream()
+      .map(className -> TestCompiler.SourceCode.of(
+        "package ristretto.test;",
+        "",
+        "public class " + className + " {",
+        "",
+        "  public static String test(String parameter) {",
+        "    return parameter + \":value\";",
+        "  }",
+        "",
+        "}"
+      ))
+      .collect(Collectors.toList());
+
+    var result = compile(sources, "--threads=4");
+
+    for (String className : classNames) {
+      assertThat(result.invoke("ristretto.test." + className, "test", "value"), is("value:value"));
+    }
+    assertThat(result, hasOutput("| parameter-final                          |           8 | 100.00% |   0.00% |     0.00% |"));
+  }
+
+  @Test
+  void reads_sources_without_line_maps_on_the_compiling_thread_when_analysing_in_parallel() {
+    var sources = IntStream.range(0, 8)
+      .mapToObj(i -> TestCompiler.SourceCode.of(
+        "package ristretto.test;",
+        "",
+        "public class TestSample" + (char) ('A' + i) + " {",
+        "",
+        "  public static String test(String parameter) {",
+        "    return parameter + \":value\";",
+        "  }",
+        "",
+        "}"
+      ))
+      .collect(Collectors.toList());
+
+    var result = compile(sources, List.of("-g:none"), "--threads=4");
+
+    assertThat(result, hasRuleEvent("parameter-final", "/test/TestSampleC.java:5", MODIFIER_ADDED));
+    for (TestCompiler.SourceCode source : sources) {
+      assertThat(source.readingThreads, everyItem(is(Thread.currentThread())));
+    }
+  }
+
+  @Test
+  void runs_rules_from_rule_providers() {
+    var code = TestCompiler.SourceCode.of(
+      "package ristretto.test;",
+      "",
+      "public class TestSample {",
+      "",
+      "  public static String test(String parameter) {",
+      "    parameter += \":value\";",
+      "    return parameter;",
+      "  }",
+      "",
+      "}"
+    );
+
+    var result = compile(code, "--rules=-parameter-final,+parameter-audit");
+
+    assertThat(result.invoke("ristretto.test.TestSample", "test", "value"), is("value:value"));
+    assertThat(result, hasOutput("| parameter-audit                          |           1 |   0.00% |   0.00% |   100.00% |"));
+  }
+
+  @Test
+  void does_not_open_the_log_file_when_rules_are_invalid(@TempDir Path directory) {
+    var logFile = directory.resolve("ristretto.log");
+
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> new JavacPlugin().init(newTask(), "--log-file=" + logFile, "--rules=nope")
+    );
+
+    assertThat(AsyncFileLogger.isOpen(logFile), is(false));
+  }
+
+  @Test
+  void closes_the_log_file_when_initialization_fails(@TempDir Path directory) {
+    var logFile = directory.resolve("ristretto.log");
+
+    assertThrows(
+      IllegalStateException.class,
+      () -> new JavacPlugin().init(newTask(), "--log-file=" + logFile, "--rules=+failing")
+    );
+
+    assertThat(AsyncFileLogger.isOpen(logFile), is(false));
+  }
+
+  @Test
+  @ResourceLock(BuildReportTest.BUILDS)
+  void releases_the_build_when_initialization_fails(@TempDir Path directory) {
+    var buildId = UUID.randomUUID().toString();
+
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> new JavacPlugin().init(
+        newTask(),
+        "--log-file=" + directory.resolve("ristretto.log"),
+        "--build-id=" + buildId,
+        "--build-summary-file=" + directory.resolve("build.summary"),
+        "--ignore-paths=["
+      )
+    );
+
+    assertThat(BuildReport.isActive(buildId), is(false));
+  }
+
+  @Test
+  @ResourceLock(BuildReportTest.BUILDS)
+  void writes_build_summary_when_the_last_task_of_the_build_finishes(@TempDir Path directory) throws IOException {
+    var code = TestCompiler.SourceCode.of(
+      "package ristretto.test;",
+      "",
+      "public class TestSample {",
+      "",
+      "  public static String test(String parameter) {",
+      "    return parameter + \":value\";",
+      "  }",
+      "",
+      "}"
+    );
+    var summaryFile = directory.resolve("build.summary");
+    var buildId = UUID.randomUUID().toString();
+
+    compile(code, "--build-id=" + buildId, "--build-summary-file=" + summaryFile);
+
+    assertThat(Files.readAllLines(summaryFile), hasItems(
+      "build " + buildId + " summary of 1 compilation tasks:",
+      "| parameter-final                          |           1 | 100.00% |   0.00% |     0.00% |"
+    ));
+  }
+
+  @Test
+  void emits_flight_recorder_events_while_recording(@TempDir Path directory) throws IOException {
+    var code = TestCompiler.SourceCode.of(
+      "package ristretto.recorded;",
+      "",
+      "public class RecordedSample {",
+      "",
+      "  private static final String SUFFIX = \":value\";",
+      "",
+      "  public static String test(String parameter) {",
+      "    return parameter + SUFFIX;",
+      "  }",
+      "",
+      "}"
+    );
+    var recordingFile = directory.resolve("compilation.jfr");
+
+    try (var recording = new Recording()) {
+      recording.enable("ristretto.CompilationUnit");
+      recording.enable("ristretto.RulePass");
+      recording.enable("ristretto.SummaryFlush");
+      recording.start();
+      compile(code);
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+
+    var events = RecordingFile.readAllEvents(recordingFile);
+    var compilationUnits = events.stream()
+      .filter(event -> event.getEventType().getName().equals("ristretto.CompilationUnit"))
+      .filter(event -> "ristretto.recorded".equals(event.getString("packageName")))
+      .collect(Collectors.toList());
+    var rulePasses = events.stream()
+      .filter(event -> event.getEventType().getName().equals("ristretto.RulePass"))
+      .filter(event -> event.getString("file").endsWith("RecordedSample.java"))
+      .collect(Collectors.toList());
+    var summaryFlushes = events.stream()
+      .filter(event -> event.getEventType().getName().equals("ristretto.SummaryFlush"))
+      .count();
+
+    assertThat(compilationUnits.size(), is(1));
+    assertThat(compilationUnits.get(0).getLong("declarations"), is(3L));
+    assertThat(rulePasses.stream().map(event -> event.getString("rule")).collect(Collectors.toList()), hasItems("parameter-final", "field-final"));
+    assertThat(rulePasses.stream().map(event -> event.getLong("declarations")).collect(Collectors.toList()), everyItem(is(3L)));
+    assertThat(summaryFlushes, is(greaterThanOrEqualTo(1L)));
+  }
+
+  @Test
+  void counts_declarations_of_compilation_units_when_rule_passes_are_not_recorded(@TempDir Path directory) throws IOException {
+    var code = TestCompiler.SourceCode.of(
+      "package ristretto.counted;",
+      "",
+      "public class CountedSample {",
+      "",
+      "  private static final String SUFFIX = \":value\";",
+      "",
+      "  public static String test(String parameter) {",
+      "    return parameter + SUFFIX;",
+      "  }",
+      "",
+      "}"
+    );
+    var recordingFile = directory.resolve("compilation.jfr");
+
+    try (var recording = new Recording()) {
+      recording.enable("ristretto.CompilationUnit");
+      recording.start();
+      compile(code);
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+
+    var compilationUnits = RecordingFile.readAllEvents(recordingFile).stream()
+      .filter(event -> event.getEventType().getName().equals("ristretto.CompilationUnit"))
+      .filter(event -> "ristretto.counted".equals(event.getString("packageName")))
+      .collect(Collectors.toList());
+
+    assertThat(compilationUnits.size(), is(1));
+    assertThat(compilationUnits.get(0).getLong("declarations"), is(3L));
+  }
+
+  private static JavacTask newTask() {
+    return (JavacTask) ToolProvider.getSystemJavaCompiler().getTask(null, null, null, List.of(), null, List.of());
+  }
 }
@@ -0,0 +1,52 @@
+package ristretto.compiler.plugin;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class LineIndexTest {
+
+  @Test
+  void finds_line_of_first_character() {
+    LineIndex index = LineIndex.of("first\nsecond\n");
+
+    assertThat(index.lineNumber(0), is(1));
+  }
+
+  @Test
+  void finds_line_of_characters_after_line_feed() {
+    LineIndex index = LineIndex.of("first\nsecond\nthird");
+
+    assertThat(index.lineNumber(5), is(1));
+    assertThat(index.lineNumber(6), is(2));
+    assertThat(index.lineNumber(12), is(2));
+    assertThat(index.lineNumber(13), is(3));
+    assertThat(index.lineNumber(17), is(3));
+  }
+
+  @Test
+  void treats_carriage_return_line_feed_as_a_single_line_terminator() {
+    LineIndex index = LineIndex.of("first\r\nsecond\r\nthird");
+
+    assertThat(index.lineNumber(6), is(1));
+    assertThat(index.lineNumber(7), is(2));
+    assertThat(index.lineNumber(15), is(3));
+  }
+
+  @Test
+  void treats_carriage_return_as_line_terminator() {
+    LineIndex index = LineIndex.of("first\rsecond");
+
+    assertThat(index.lineNumber(6), is(2));
+  }
+
+  @Test
+  void indexes_content_with_many_lines() {
+    LineIndex index = LineIndex.of("x\n".repeat(1000));
+
+    assertThat(index.lineNumber(0), is(1));
+    assertThat(index.lineNumber(1001), is(501));
+    assertThat(index.lineNumber(1999), is(1000));
+  }
+}
@@ -0,0 +1,59 @@
+package ristretto.compiler.plugin;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+class LogHistogramTest {
+
+  private final LogHistogram histogram = new LogHistogram();
+
+  @Test
+  void reports_zero_when_empty() {
+    assertThat(histogram.count(), is(0L));
+    assertThat(histogram.mean(), is(0L));
+    assertThat(histogram.percentile(99), is(0L));
+    assertThat(histogram.max(), is(0L));
+  }
+
+  @Test
+  void keeps_exact_totals() {
+    histogram.record(10);
+    histogram.record(20);
+    histogram.record(1_000_000);
+
+    assertThat(histogram.count(), is(3L));
+    assertThat(histogram.total(), is(1_000_030L));
+    assertThat(histogram.mean(), is(333_343L));
+    assertThat(histogram.max(), is(1_000_000L));
+  }
+
+  @Test
+  void estimates_percentiles_within_bucket_precision() {
+    for (long value = 1; value <= 10_000; value++) {
+      histogram.record(value * 1_000);
+    }
+
+    assertThat(histogram.percentile(50), is(allOf(greaterThanOrEqualTo(5_000_000L), lessThanOrEqualTo(5_625_000L))));
+    assertThat(histogram.percentile(99), is(allOf(greaterThanOrEqualTo(9_900_000L), lessThanOrEqualTo(10_000_000L))));
+    assertThat(histogram.percentile(100), is(10_000_000L));
+  }
+
+  @Test
+  void maps_every_value_into_a_bucket_that_contains_it() {
+    long[] values = {0, 1, 7, 8, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE};
+
+    for (long value : values) {
+      int bucket = LogHistogram.bucket(value);
+
+      assertThat(LogHistogram.upperBound(bucket), is(greaterThanOrEqualTo(value)));
+      if (bucket > 0) {
+        assertThat(LogHistogram.upperBound(bucket - 1), is(lessThanOrEqualTo(value - 1)));
+      }
+    }
+  }
+}
@@ -3,33 +3,65 @@ package ristretto.compiler.plugin;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class MetricsCollectorTest {
 
-  MetricsCollector<String, String> collector;
+  enum EventType {
+    ADDED,
+    NOT_ADDED
+  }
+
+  MetricsCollector<String, EventType> collector;
 
   @BeforeEach
   void beforeEach() {
-    collector = new MetricsCollector<>();
-    collector.count("parameter", "added");
-    collector.count("method", "added");
+    collector = new MetricsCollector<>(List.of("parameter", "method", "local-variable"), EventType.class);
+    collector.counter("parameter").count(EventType.ADDED);
+    collector.counter("method").count(EventType.ADDED);
   }
 
   @Test
   void indicates_when_there_are_no_metrics_for_provided_event_source() {
     assertThat(collector.calculate("local-variable"), is(Optional.empty()));
+    assertThat(collector.calculate("field"), is(Optional.empty()));
   }
 
   @Test
   void calculates_metrics_when_available_for_provided_event_source() {
     var parameterMetrics = collector.calculate("parameter").orElseThrow();
 
-    assertThat(parameterMetrics.getTotal(), is(1));
-    assertThat(parameterMetrics.percentage("added"), is(new BigDecimal("100.00")));
+    assertThat(parameterMetrics.getTotal(), is(1L));
+    assertThat(parameterMetrics.basisPoints(EventType.ADDED), is(100_00L));
+  }
+
+  @Test
+  void rejects_unknown_event_source() {
+    assertThrows(IllegalArgumentException.class, () -> collector.counter("field"));
+  }
+
+  @Test
+  void counts_events_from_multiple_threads() throws InterruptedException {
+    var counter = collector.counter("local-variable");
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int i = 0; i < 4; i++) {
+      executor.execute(() -> {
+        for (int j = 0; j < 10_000; j++) {
+          counter.count(EventType.NOT_ADDED);
+        }
+      });
+    }
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+
+    assertThat(collector.calculate("local-variable").orElseThrow().getTotal(), is(40_000L));
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package ristretto.compiler.plugin;
+
+public final class ParameterAuditRuleProvider implements RuleProvider {
+
+  @Override
+  public String id() {
+    return "parameter-audit";
+  }
+
+  @Override
+  public boolean isEnabledByDefault() {
+    return false;
+  }
+
+  @Override
+  public DefaultModifierRule create(DefaultModifierRule.Listener listener) {
+    return new ParameterAuditRule(listener);
+  }
+
+  private static final class ParameterAuditRule implements DefaultModifierRule {
+
+    private final ParameterCheck check;
+
+    ParameterAuditRule(Listener listener) {
+      this.check = new ParameterCheck(listener);
+    }
+
+    @Override
+    public void visitParameter(ModifierTarget parameter) {
+      check.visitParameter(parameter);
+    }
+  }
+
+  private static final class ParameterCheck implements DefaultModifierRule {
+
+    private final Listener listener;
+
+    ParameterCheck(Listener listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public void visitParameter(ModifierTarget parameter) {
+      listener.modifierNotAdded(this, parameter);
+    }
+  }
+}
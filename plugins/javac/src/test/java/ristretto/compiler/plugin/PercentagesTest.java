@@ -2,8 +2,6 @@ package ristretto.compiler.plugin;
 
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -11,26 +9,39 @@ import static org.hamcrest.Matchers.is;
 
 class PercentagesTest {
 
+  enum EventType {
+    ADDED,
+    ANNOTATED,
+    ALREADY_PRESENT
+  }
+
   @Test
   void indicates_when_there_are_no_percentages() {
-    assertThat(Percentages.calculate(Map.of()), is(Optional.empty()));
-    assertThat(Percentages.calculate(Map.of("key", 0)), is(Optional.empty()));
+    assertThat(Percentages.<EventType>calculate(new long[0]), is(Optional.empty()));
+    assertThat(Percentages.<EventType>calculate(new long[]{0, 0, 0}), is(Optional.empty()));
   }
 
   @Test
   void calculates_percentages_when_available() {
-    var stats = Map.of(
-      "added", 3,
-      "annotated", 2,
-      "already-present", 1
-    );
-
-    var percentages = Percentages.calculate(stats).orElseThrow();
-
-    assertThat(percentages.getTotal(), is(6));
-    assertThat(percentages.percentage("added"), is(new BigDecimal("50.00")));
-    assertThat(percentages.percentage("already-present"), is(new BigDecimal("16.66")));
-    assertThat(percentages.percentage("annotated"), is(new BigDecimal("33.33")));
+    long[] stats = {3, 2, 1};
+
+    Percentages<EventType> percentages = Percentages.<EventType>calculate(stats).orElseThrow();
+
+    assertThat(percentages.getTotal(), is(6L));
+    assertThat(percentages.basisPoints(EventType.ADDED), is(50_00L));
+    assertThat(percentages.basisPoints(EventType.ALREADY_PRESENT), is(16_66L));
+    assertThat(percentages.basisPoints(EventType.ANNOTATED), is(33_33L));
+  }
+
+  @Test
+  void rounds_percentages_down() {
+    long[] stats = {2, 1, 0};
+
+    Percentages<EventType> percentages = Percentages.<EventType>calculate(stats).orElseThrow();
+
+    assertThat(percentages.basisPoints(EventType.ADDED), is(66_66L));
+    assertThat(percentages.basisPoints(EventType.ANNOTATED), is(33_33L));
+    assertThat(percentages.basisPoints(EventType.ALREADY_PRESENT), is(0L));
   }
 
-}
\ No newline at end of file
+}
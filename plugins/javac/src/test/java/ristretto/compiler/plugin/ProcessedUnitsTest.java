@@ -0,0 +1,85 @@
+package ristretto.compiler.plugin;
+
+import com.sun.source.tree.CompilationUnitTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+class ProcessedUnitsTest {
+
+  private final TestCompiler compiler = new TestCompiler();
+  private final RecordingLogger logger = new RecordingLogger();
+  private final DiagnosticsReport report = new DiagnosticsReport(logger, RistrettoOptions.Verbosity.SUMMARY, Integer.MAX_VALUE, List.of());
+  private final ProcessedUnits processedUnits = new ProcessedUnits(report);
+
+  @Test
+  void processes_each_compilation_unit_once() {
+    CompilationUnitTree first = parse("First");
+    CompilationUnitTree second = parse("Second");
+
+    assertThat(processedUnits.markProcessed(first), is(true));
+    assertThat(processedUnits.markProcessed(second), is(true));
+    assertThat(processedUnits.markProcessed(first), is(false));
+  }
+
+  @Test
+  void reports_skipped_compilation_units() {
+    CompilationUnitTree compilationUnit = parse("Sample");
+
+    processedUnits.markProcessed(compilationUnit);
+    processedUnits.markProcessed(compilationUnit);
+    processedUnits.markProcessed(compilationUnit);
+    report.pluginFinished();
+
+    assertThat(logger.summaries, hasItem("2 compilation units skipped because they were already processed"));
+  }
+
+  @Test
+  void does_not_report_skipped_compilation_units_when_there_are_none() {
+    processedUnits.markProcessed(parse("Sample"));
+    report.pluginFinished();
+
+    assertThat(logger.summaries, not(hasItem("0 compilation units skipped because they were already processed")));
+  }
+
+  private CompilationUnitTree parse(String className) {
+    return compiler.parse(TestCompiler.SourceCode.of(
+      "package test;",
+      "public class " + className + " {",
+      "}"
+    )).compilationUnit;
+  }
+
+  private static final class RecordingLogger extends RistrettoLogger {
+
+    final List<String> summaries = new ArrayList<>();
+
+    @Override
+    void summary(String msg) {
+      summaries.add(msg);
+    }
+
+    @Override
+    void diagnostic(String msg) {
+    }
+
+    @Override
+    boolean isDiagnosticEnabled() {
+      return false;
+    }
+
+    @Override
+    void flush() {
+    }
+
+    @Override
+    void close() {
+    }
+  }
+}
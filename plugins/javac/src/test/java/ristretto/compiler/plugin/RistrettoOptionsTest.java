@@ -2,6 +2,10 @@ package ristretto.compiler.plugin;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 
@@ -22,11 +26,99 @@ class RistrettoOptionsTest {
   }
 
   @Test
-  void indicates_when_packages_are_included() {
+  void indicates_ignored_package_patterns() {
     RistrettoOptions options = RistrettoOptions.parse("--ignore-packages=some.package.name1,some.package.name2");
 
-    assertThat(options.isIncluded(new PackageName("some.package.name1")), is(false));
-    assertThat(options.isIncluded(new PackageName("some.package.name2")), is(false));
-    assertThat(options.isIncluded(new PackageName("some.package.name3")), is(true));
+    assertThat(options.ignoredPackagePatterns(), is(List.of("some.package.name1", "some.package.name2")));
+  }
+
+  @Test
+  void prints_all_diagnostics_by_default() {
+    RistrettoOptions options = RistrettoOptions.parse();
+
+    assertThat(options.verbosity(), is(RistrettoOptions.Verbosity.ALL));
+    assertThat(options.diagnosticsLimitPerRule(), is(Integer.MAX_VALUE));
+  }
+
+  @Test
+  void indicates_verbosity() {
+    RistrettoOptions options = RistrettoOptions.parse("--verbosity=changes");
+
+    assertThat(options.verbosity(), is(RistrettoOptions.Verbosity.CHANGES));
+  }
+
+  @Test
+  void indicates_diagnostics_limit_per_rule() {
+    RistrettoOptions options = RistrettoOptions.parse("--max-diagnostics-per-rule=10");
+
+    assertThat(options.diagnosticsLimitPerRule(), is(10));
+  }
+
+  @Test
+  void writes_log_file_in_working_directory_by_default() {
+    RistrettoOptions options = RistrettoOptions.parse();
+
+    assertThat(options.logFile(), is(Path.of("ristretto.log")));
+    assertThat(options.logOverflow(), is(RistrettoOptions.LogOverflow.BLOCK));
+  }
+
+  @Test
+  void indicates_log_file_options() {
+    RistrettoOptions options = RistrettoOptions.parse(
+      "--log-file=build/ristretto.log",
+      "--log-buffer-size=100",
+      "--log-overflow=drop"
+    );
+
+    assertThat(options.logFile(), is(Path.of("build/ristretto.log")));
+    assertThat(options.logBufferSize(), is(100));
+    assertThat(options.logOverflow(), is(RistrettoOptions.LogOverflow.DROP));
+  }
+
+  @Test
+  void indicates_ignored_path_patterns() {
+    RistrettoOptions options = RistrettoOptions.parse("--ignore-paths=**/generated/**,**/*Proto.java");
+
+    assertThat(options.ignoredPathPatterns(), is(List.of("**/generated/**", "**/*Proto.java")));
+  }
+
+  @Test
+  void indicates_when_generated_sources_are_included() {
+    assertThat(RistrettoOptions.parse().isGeneratedSourcesIncluded(), is(false));
+    assertThat(RistrettoOptions.parse("--include-generated").isGeneratedSourcesIncluded(), is(true));
+  }
+
+  @Test
+  void indicates_number_of_threads() {
+    assertThat(RistrettoOptions.parse().threads(), is(1));
+    assertThat(RistrettoOptions.parse("--threads=8").threads(), is(8));
+  }
+
+  @Test
+  void indicates_rule_selection() {
+    assertThat(RistrettoOptions.parse().ruleSelection(), is(List.of()));
+    assertThat(
+      RistrettoOptions.parse("--rules=+field-final,-local-final", "--rules=-method-public").ruleSelection(),
+      is(List.of("+field-final", "-local-final", "-method-public"))
+    );
+  }
+
+  @Test
+  void indicates_build_report_options() {
+    assertThat(RistrettoOptions.parse().buildId(), is(Optional.empty()));
+    assertThat(RistrettoOptions.parse("--build-id=42").buildId(), is(Optional.of("42")));
+    assertThat(RistrettoOptions.parse("--build-id=42").buildSummaryFile(), is(Path.of("ristretto-42.summary")));
+    assertThat(
+      RistrettoOptions.parse("--build-id=42", "--build-summary-file=build/summary.txt").buildSummaryFile(),
+      is(Path.of("build/summary.txt"))
+    );
+  }
+
+  @Test
+  void indicates_timings_options() {
+    assertThat(RistrettoOptions.parse().isTimingsEnabled(), is(false));
+    assertThat(RistrettoOptions.parse().slowestUnitsReported(), is(10));
+    assertThat(RistrettoOptions.parse("--timings").isTimingsEnabled(), is(true));
+    assertThat(RistrettoOptions.parse("--timings-slowest-units=3").slowestUnitsReported(), is(3));
   }
-}
\ No newline at end of file
+}
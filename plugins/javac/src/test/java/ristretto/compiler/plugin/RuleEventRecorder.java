@@ -0,0 +1,55 @@
+package ristretto.compiler.plugin;
+
+import com.sun.source.util.JavacTask;
+
+import javax.tools.JavaCompiler;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class RuleEventRecorder implements RuleListenerProvider {
+
+  private static final Map<Object, List<TestCompiler.RuleEvent>> RECORDINGS = new ConcurrentHashMap<>();
+
+  static List<TestCompiler.RuleEvent> record(JavaCompiler.CompilationTask task) {
+    List<TestCompiler.RuleEvent> ruleEvents = Collections.synchronizedList(new ArrayList<>());
+    RECORDINGS.put(task, ruleEvents);
+    try {
+      task.call();
+    } finally {
+      RECORDINGS.remove(task);
+    }
+    synchronized (ruleEvents) {
+      return List.copyOf(ruleEvents);
+    }
+  }
+
+  @Override
+  public DefaultModifierRule.Listener create(JavacTask task, String ruleId) {
+    List<TestCompiler.RuleEvent> ruleEvents = RECORDINGS.get(task);
+    if (ruleEvents == null) {
+      return new DefaultModifierRule.Listener() {
+      };
+    }
+
+    return new DefaultModifierRule.Listener() {
+
+      @Override
+      public void modifierAdded(DefaultModifierRule source, ModifierTarget target) {
+        ruleEvents.add(new TestCompiler.RuleEvent(ruleId, target.position(), TestCompiler.RuleEvent.Type.MODIFIER_ADDED));
+      }
+
+      @Override
+      public void modifierAlreadyPresent(DefaultModifierRule source, ModifierTarget target) {
+        ruleEvents.add(new TestCompiler.RuleEvent(ruleId, target.position(), TestCompiler.RuleEvent.Type.MODIFIER_ALREADY_PRESENT));
+      }
+
+      @Override
+      public void modifierNotAdded(DefaultModifierRule source, ModifierTarget target) {
+        ruleEvents.add(new TestCompiler.RuleEvent(ruleId, target.position(), TestCompiler.RuleEvent.Type.MODIFIER_NOT_ADDED));
+      }
+    };
+  }
+}
@@ -0,0 +1,84 @@
+package ristretto.compiler.plugin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RuleRegistryTest {
+
+  private final RuleRegistry registry = RuleRegistry.of(List.of(new ParameterAuditRuleProvider()));
+
+  @Test
+  void enables_built_in_rules_by_default() {
+    assertThat(ids(registry.select(List.of())), contains(
+      "field-final",
+      "parameter-final",
+      "local-final",
+      "field-private",
+      "method-public"
+    ));
+  }
+
+  @Test
+  void disables_rules() {
+    assertThat(ids(registry.select(List.of("-local-final", "-method-public"))), contains(
+      "field-final",
+      "parameter-final",
+      "field-private"
+    ));
+  }
+
+  @Test
+  void enables_rules_that_are_disabled_by_default() {
+    assertThat(ids(registry.select(List.of("+parameter-audit", "-field-private"))), contains(
+      "field-final",
+      "parameter-final",
+      "local-final",
+      "method-public",
+      "parameter-audit"
+    ));
+  }
+
+  @Test
+  void enables_only_listed_rules_when_the_first_one_has_no_sign() {
+    assertThat(ids(registry.select(List.of("method-public", "field-final"))), contains(
+      "field-final",
+      "method-public"
+    ));
+  }
+
+  @Test
+  void rejects_unknown_rules() {
+    var exception = assertThrows(IllegalArgumentException.class, () -> registry.select(List.of("-unknown")));
+
+    assertThat(exception.getMessage().startsWith("unknown rule: 'unknown'"), is(true));
+  }
+
+  @Test
+  void rejects_duplicated_rule_ids() {
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> RuleRegistry.of(List.of(new ParameterAuditRuleProvider(), new ParameterAuditRuleProvider()))
+    );
+  }
+
+  @Test
+  void loads_rule_providers_from_class_loader() {
+    var loaded = RuleRegistry.load(getClass().getClassLoader());
+
+    assertThat(ids(loaded.select(List.of("+parameter-audit"))), hasItem("parameter-audit"));
+    assertThat(ids(loaded.select(List.of())), not(hasItem("parameter-audit")));
+  }
+
+  private static List<String> ids(List<RuleProvider> providers) {
+    return providers.stream().map(RuleProvider::id).collect(Collectors.toList());
+  }
+}
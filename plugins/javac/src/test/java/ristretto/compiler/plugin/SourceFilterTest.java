@@ -0,0 +1,65 @@
+package ristretto.compiler.plugin;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class SourceFilterTest {
+
+  private final TestCompiler compiler = new TestCompiler();
+
+  private boolean isIncluded(String packageName, String... options) {
+    TestCompiler.ParsedSource source = compiler.parse(TestCompiler.SourceCode.of(
+      "package " + packageName + ";",
+      "public class Sample {",
+      "}"
+    ));
+
+    return SourceFilter.of(RistrettoOptions.parse(options), source.names).isIncluded(source.compilationUnit);
+  }
+
+  @Test
+  void includes_every_package_by_default() {
+    assertThat(isIncluded("some.pkg"), is(true));
+  }
+
+  @Test
+  void ignores_exact_package_names() {
+    String option = "--ignore-packages=some.pkg,another.pkg";
+
+    assertThat(isIncluded("some.pkg", option), is(false));
+    assertThat(isIncluded("another.pkg", option), is(false));
+    assertThat(isIncluded("some", option), is(true));
+    assertThat(isIncluded("some.pkg.name", option), is(true));
+  }
+
+  @Test
+  void ignores_packages_matching_any_single_segment() {
+    String option = "--ignore-packages=some.*.generated";
+
+    assertThat(isIncluded("some.pkg.generated", option), is(false));
+    assertThat(isIncluded("some.other.generated", option), is(false));
+    assertThat(isIncluded("some.generated", option), is(true));
+    assertThat(isIncluded("some.pkg.name.generated", option), is(true));
+  }
+
+  @Test
+  void ignores_package_prefixes() {
+    String option = "--ignore-packages=some.pkg.**";
+
+    assertThat(isIncluded("some.pkg", option), is(false));
+    assertThat(isIncluded("some.pkg.name", option), is(false));
+    assertThat(isIncluded("some.pkg.name.generated", option), is(false));
+    assertThat(isIncluded("some.other", option), is(true));
+  }
+
+  @Test
+  void ignores_packages_matching_literal_and_wildcard_alternatives() {
+    String option = "--ignore-packages=some.pkg.exact,some.*.generated";
+
+    assertThat(isIncluded("some.pkg.exact", option), is(false));
+    assertThat(isIncluded("some.pkg.generated", option), is(false));
+    assertThat(isIncluded("some.pkg.other", option), is(true));
+  }
+}
@@ -1,5 +1,10 @@
 package ristretto.compiler.plugin;
 
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.JavacTask;
+import com.sun.tools.javac.api.BasicJavacTask;
+import com.sun.tools.javac.util.Names;
+
 import javax.tools.Diagnostic;
 import javax.tools.DiagnosticCollector;
 import javax.tools.FileObject;
@@ -8,17 +13,23 @@ import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
 import javax.tools.SimpleJavaFileObject;
 import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
 import javax.tools.ToolProvider;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -26,48 +37,74 @@ import java.util.stream.Stream;
 
 import static javax.tools.JavaFileObject.Kind.SOURCE;
 
-// TODO: parse events from plugin instead of matching console output string in tests assertions
-// TODO: enable each rule individually for each test scenario
 final class TestCompiler {
 
-  private final JavaCompiler compiler;
+  private static final JavaCompiler COMPILER = ToolProvider.getSystemJavaCompiler();
 
-  TestCompiler() {
-    compiler = ToolProvider.getSystemJavaCompiler();
-  }
+  private static final ThreadLocal<StandardJavaFileManager> FILE_MANAGERS = ThreadLocal.withInitial(
+    () -> COMPILER.getStandardFileManager(null, null, StandardCharsets.UTF_8)
+  );
 
   Result compile(SourceCode sourceCode, String... pluginArgs) {
     return compile(List.of(sourceCode), pluginArgs);
   }
 
   Result compile(List<SourceCode> sourceCode, String... pluginArgs) {
+    return compile(sourceCode, List.of(), pluginArgs);
+  }
+
+  Result compile(List<SourceCode> sourceCode, List<String> compilerOptions, String... pluginArgs) {
     DiagnosticCollector<JavaFileObject> diagnosticCollector = new DiagnosticCollector<>();
     Writer additionalOutput = new StringWriter();
+    FileManager fileManager = new FileManager(FILE_MANAGERS.get());
+    List<String> options = new ArrayList<>(compilerOptions);
+    options.add("-classpath");
+    options.add(System.getProperty("java.class.path"));
+    options.add("-Xplugin:" + JavacPlugin.NAME + " --output=stderr " + String.join(" ", pluginArgs));
 
-    FileManager fileManager = new FileManager(compiler.getStandardFileManager(
-      diagnosticCollector,
-      null,
-      StandardCharsets.UTF_8
-    ));
-
-    JavaCompiler.CompilationTask task = compiler.getTask(
+    JavaCompiler.CompilationTask task = COMPILER.getTask(
       additionalOutput,
       fileManager,
       diagnosticCollector,
-      List.of("-classpath", System.getProperty("java.class.path"), "-Xplugin:" + JavacPlugin.NAME + " --output=stderr " + String.join(" ", pluginArgs)),
+      options,
       null,
       sourceCode
     );
 
-    task.call();
+    List<RuleEvent> ruleEvents = RuleEventRecorder.record(task);
 
     return new Result(
       diagnosticCollector.getDiagnostics(),
       additionalOutput.toString(),
+      ruleEvents,
       new LocalClassLoader(fileManager.compiledClasses)
     );
   }
 
+  ParsedSource parse(SourceCode sourceCode) {
+    JavacTask task = (JavacTask) COMPILER.getTask(null, FILE_MANAGERS.get(), null, List.of(), null, List.of(sourceCode));
+
+    try {
+      return new ParsedSource(
+        task.parse().iterator().next(),
+        KnownNames.of(Names.instance(((BasicJavacTask) task).getContext()))
+      );
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static final class ParsedSource {
+
+    final CompilationUnitTree compilationUnit;
+    final KnownNames names;
+
+    private ParsedSource(CompilationUnitTree compilationUnit, KnownNames names) {
+      this.compilationUnit = compilationUnit;
+      this.names = names;
+    }
+  }
+
   static final class SourceCode extends SimpleJavaFileObject {
 
     private static final Pattern PACKAGE_DECLARATION = Pattern.compile(
@@ -79,6 +116,7 @@ final class TestCompiler {
     );
 
     final String content;
+    final Set<Thread> readingThreads = ConcurrentHashMap.newKeySet();
 
     private SourceCode(URI uri, String content) {
       super(uri, SOURCE);
@@ -119,6 +157,7 @@ final class TestCompiler {
 
     @Override
     public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      readingThreads.add(Thread.currentThread());
       return content;
     }
   }
@@ -127,11 +166,18 @@ final class TestCompiler {
 
     final List<Diagnostic<? extends JavaFileObject>> diagnostics;
     final String additionalOutput;
+    final List<RuleEvent> ruleEvents;
     final LocalClassLoader classLoader;
 
-    Result(List<Diagnostic<? extends JavaFileObject>> diagnostics, String additionalOutput, LocalClassLoader classLoader) {
+    Result(
+      List<Diagnostic<? extends JavaFileObject>> diagnostics,
+      String additionalOutput,
+      List<RuleEvent> ruleEvents,
+      LocalClassLoader classLoader
+    ) {
       this.diagnostics = diagnostics;
       this.additionalOutput = additionalOutput;
+      this.ruleEvents = ruleEvents;
       this.classLoader = classLoader;
     }
 
@@ -158,6 +204,30 @@ final class TestCompiler {
     }
   }
 
+  static final class RuleEvent {
+
+    final String rule;
+    final String position;
+    final Type type;
+
+    RuleEvent(String rule, String position, Type type) {
+      this.rule = rule;
+      this.position = position;
+      this.type = type;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s %s %s", rule, position, type);
+    }
+
+    enum Type {
+      MODIFIER_ADDED,
+      MODIFIER_ALREADY_PRESENT,
+      MODIFIER_NOT_ADDED
+    }
+  }
+
   private static final class ClassWrapper {
 
     private final Class<?> aClass;
@@ -209,6 +279,18 @@ final class TestCompiler {
       super(fileManager);
     }
 
+    @Override
+    public ClassLoader getClassLoader(Location location) {
+      if (location == StandardLocation.ANNOTATION_PROCESSOR_PATH || location == StandardLocation.CLASS_PATH) {
+        return TestCompiler.class.getClassLoader();
+      }
+      return super.getClassLoader(location);
+    }
+
+    @Override
+    public void close() {
+    }
+
     @Override
     public JavaFileObject getJavaFileForOutput(
       Location location,
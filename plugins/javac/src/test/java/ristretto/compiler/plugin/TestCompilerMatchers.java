@@ -13,6 +13,40 @@ final class TestCompilerMatchers {
     return new OutputMatcher(value);
   }
 
+  static Matcher<TestCompiler.Result> hasRuleEvent(String rule, String position, TestCompiler.RuleEvent.Type type) {
+    return new RuleEventMatcher(rule, position, type);
+  }
+
+  private static class RuleEventMatcher extends TypeSafeMatcher<TestCompiler.Result> {
+
+    private final String rule;
+    private final String position;
+    private final TestCompiler.RuleEvent.Type type;
+
+    RuleEventMatcher(String rule, String position, TestCompiler.RuleEvent.Type type) {
+      this.rule = rule;
+      this.position = position;
+      this.type = type;
+    }
+
+    @Override
+    public void describeTo(Description description) {
+      description.appendText(String.format("a rule event %s %s %s", rule, position, type));
+    }
+
+    @Override
+    protected void describeMismatchSafely(TestCompiler.Result result, Description mismatchDescription) {
+      mismatchDescription.appendText("the rule events were ").appendValueList("[", ", ", "]", result.ruleEvents);
+    }
+
+    @Override
+    protected boolean matchesSafely(TestCompiler.Result result) {
+      return result.ruleEvents.stream().anyMatch(event ->
+        event.rule.equals(rule) && event.position.equals(position) && event.type == type
+      );
+    }
+  }
+
   private static class OutputMatcher extends TypeSafeMatcher<TestCompiler.Result> {
 
     private final String expectedOutput;
@@ -0,0 +1,464 @@
+package ristretto.compiler.plugin;
+
+import com.sun.source.tree.TreeVisitor;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeScanner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VariableScannerTest {
+
+  private final TestCompiler compiler = new TestCompiler();
+
+  @Test
+  void visits_declarations_in_source_order() {
+    TestCompiler.ParsedSource source = compiler.parse(TestCompiler.SourceCode.of(
+      "package test;",
+      "public class Sample {",
+      "  private int a = 1;",
+      "  Sample(int b) {",
+      "    int c = b;",
+      "  }",
+      "  int method(int d) {",
+      "    for (int e = 0; e < d; e++) {",
+      "      int f = e;",
+      "    }",
+      "    return d;",
+      "  }",
+      "  enum Kind {",
+      "    A;",
+      "    int g;",
+      "    int h() { return g; }",
+      "  }",
+      "}"
+    ));
+
+    List<String> visits = new ArrayList<>();
+    VariableScanner.scan(source.compilationUnit, source.names, new RecordingVisitor(visits));
+
+    assertThat(visits, contains(
+      "field 3",
+      "class field 3",
+      "class constructor 4",
+      "parameter 4",
+      "local variable 5",
+      "class method 7",
+      "parameter 7",
+      "local variable 9",
+      "field 14",
+      "enum field 14",
+      "field 15",
+      "enum field 15",
+      "enum method 16"
+    ));
+  }
+
+  @Test
+  void scans_deeply_nested_expressions_with_a_small_stack() throws InterruptedException {
+    StringBuilder expression = new StringBuilder("((java.util.function.IntSupplier) () -> { int deepest = 1; return deepest; }).getAsInt()");
+    for (int i = 0; i < 20_000; i++) {
+      expression.append(" + 1");
+    }
+    TestCompiler.ParsedSource source = compiler.parse(TestCompiler.SourceCode.of(
+      "package test;",
+      "public class Deep {",
+      "  void method() {",
+      "    int sum = " + expression,
+      "      + ((java.util.function.IntSupplier) () -> { int shallowest = 2; return shallowest; }).getAsInt();",
+      "    int after = sum;",
+      "  }",
+      "}"
+    ));
+
+    List<String> visits = new ArrayList<>();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread scanner = new Thread(null, () -> {
+      try {
+        VariableScanner.scan(source.compilationUnit, source.names, new RecordingVisitor(visits));
+      } catch (Throwable e) {
+        failure.set(e);
+      }
+    }, "small-stack-scanner", 256 * 1024);
+    scanner.start();
+    scanner.join();
+
+    assertThat(failure.get(), nullValue());
+    assertThat(visits, contains(
+      "class method 3",
+      "local variable 4",
+      "local variable 4",
+      "local variable 5",
+      "local variable 6"
+    ));
+  }
+
+  @Test
+  void keeps_snapshots_pointed_at_their_declaration_after_the_cursor_moves() {
+    TestCompiler.ParsedSource source = compiler.parse(TestCompiler.SourceCode.of(
+      "package test;",
+      "public class Sample {",
+      "  int a;",
+      "  int b;",
+      "}"
+    ));
+
+    List<ModifierTarget> cursors = new ArrayList<>();
+    List<ModifierTarget> snapshots = new ArrayList<>();
+    VariableScanner.scan(source.compilationUnit, source.names, new DeclarationVisitor() {
+      @Override
+      public void visitClassField(ModifierTarget field) {
+        cursors.add(field);
+        snapshots.add(field.snapshot());
+      }
+    });
+
+    assertThat(cursors.get(0), sameInstance(cursors.get(1)));
+    assertThat(snapshots.get(0).position(), endsWith(":3"));
+    assertThat(snapshots.get(1).position(), endsWith(":4"));
+  }
+
+  @Test
+  void visits_receiver_before_parameters() {
+    TestCompiler.ParsedSource source = compiler.parse(TestCompiler.SourceCode.of(
+      "package test;",
+      "public class Sample {",
+      "  int method(",
+      "    Sample this,",
+      "    int a) {",
+      "    return a;",
+      "  }",
+      "}"
+    ));
+
+    List<String> visits = new ArrayList<>();
+    VariableScanner.scan(source.compilationUnit, source.names, new RecordingVisitor(visits));
+
+    assertThat(visits, contains("class method 3", "parameter 4", "parameter 5"));
+  }
+
+  @Test
+  void visits_binding_variables_of_instanceof_patterns() {
+    assumeTrue(Runtime.version().feature() >= 16, "instanceof patterns need javac 16+");
+    TestCompiler.ParsedSource source = compiler.parse(TestCompiler.SourceCode.of(
+      "package test;",
+      "public class Sample {",
+      "  boolean method(Object a) {",
+      "    return a instanceof String b",
+      "      && b.isEmpty();",
+      "  }",
+      "}"
+    ));
+
+    List<String> visits = new ArrayList<>();
+    VariableScanner.scan(source.compilationUnit, source.names, new RecordingVisitor(visits));
+
+    assertThat(visits, contains("class method 3", "parameter 3", "local variable 4"));
+  }
+
+  @Test
+  void skips_imports() {
+    assertSkipped(JCTree.JCImport.class, anImport -> anImport.qualid = new UnvisitableExpression());
+  }
+
+  @Test
+  void skips_annotations() {
+    assertSkipped(
+      JCTree.JCAnnotation.class,
+      annotation -> annotation.args = com.sun.tools.javac.util.List.of(new UnvisitableExpression()),
+      "@SuppressWarnings(\"unused\") void method() { }"
+    );
+  }
+
+  @Test
+  void skips_annotated_types() {
+    assertSkipped(
+      JCTree.JCAnnotatedType.class,
+      annotatedType -> annotatedType.underlyingType = new UnvisitableExpression(),
+      "Object cast = (@Deprecated Object) null;"
+    );
+  }
+
+  @Test
+  void skips_array_types() {
+    assertSkipped(
+      JCTree.JCArrayTypeTree.class,
+      arrayType -> arrayType.elemtype = new UnvisitableExpression(),
+      "Object type = String[].class;"
+    );
+  }
+
+  @Test
+  void skips_parameterized_types() {
+    assertSkipped(
+      JCTree.JCTypeApply.class,
+      parameterizedType -> parameterizedType.arguments = com.sun.tools.javac.util.List.of(new UnvisitableExpression()),
+      "java.util.function.Function<java.util.List<String>, Integer> size = java.util.List<String>::size;"
+    );
+  }
+
+  @Test
+  void skips_wildcards() {
+    assertSkipped(
+      JCTree.JCWildcard.class,
+      wildcard -> wildcard.inner = new UnvisitableExpression(),
+      "Object cast = (java.util.List<? extends Number>) null;"
+    );
+  }
+
+  @Test
+  void skips_union_types() {
+    assertSkipped(
+      JCTree.JCTypeUnion.class,
+      unionType -> unionType.alternatives = com.sun.tools.javac.util.List.of(new UnvisitableExpression()),
+      "void method() { try { } catch (IllegalStateException | IllegalArgumentException e) { } }"
+    );
+  }
+
+  @Test
+  void skips_intersection_types() {
+    assertSkipped(
+      JCTree.JCTypeIntersection.class,
+      intersectionType -> intersectionType.bounds = com.sun.tools.javac.util.List.of(new UnvisitableExpression()),
+      "Object cast = (Runnable & java.io.Serializable) () -> { };"
+    );
+  }
+
+  @Test
+  void skips_type_parameters() {
+    assertSkipped(
+      JCTree.JCTypeParameter.class,
+      typeParameter -> typeParameter.bounds = com.sun.tools.javac.util.List.of(new UnvisitableExpression()),
+      "<T extends Number> void method() { }"
+    );
+  }
+
+  @Test
+  void skips_cast_types() {
+    assertSkipped(
+      JCTree.JCTypeCast.class,
+      typeCast -> typeCast.clazz = new UnvisitableExpression(),
+      "Object cast = (Object) null;"
+    );
+  }
+
+  @Test
+  void skips_instanceof_types() {
+    assertSkipped(
+      JCTree.JCInstanceOf.class,
+      instanceOf -> replaceTestedType(instanceOf, new UnvisitableExpression()),
+      "boolean test = null instanceof String;"
+    );
+  }
+
+  @Test
+  void skips_type_arguments_of_method_invocations() {
+    assertSkipped(
+      JCTree.JCMethodInvocation.class,
+      methodInvocation -> methodInvocation.typeargs = com.sun.tools.javac.util.List.of(new UnvisitableExpression()),
+      "Object empty = java.util.Collections.<String>emptyList();"
+    );
+  }
+
+  @Test
+  void skips_type_arguments_of_member_references() {
+    assertSkipped(
+      JCTree.JCMemberReference.class,
+      memberReference -> memberReference.typeargs = com.sun.tools.javac.util.List.of(new UnvisitableExpression()),
+      "Runnable reference = this::<String>toString;"
+    );
+  }
+
+  @Test
+  void skips_instantiated_class_types() {
+    assertSkipped(
+      JCTree.JCNewClass.class,
+      newClass -> newClass.clazz = new UnvisitableExpression(),
+      "Object created = new StringBuilder();"
+    );
+  }
+
+  @Test
+  void skips_array_element_types() {
+    assertSkipped(
+      JCTree.JCNewArray.class,
+      newArray -> newArray.elemtype = new UnvisitableExpression(),
+      "int[] array = new int[] {1};"
+    );
+  }
+
+  @Test
+  void skips_identifiers_and_literals() {
+    assertSkipped(
+      JCTree.JCNewArray.class,
+      newArray -> newArray.elems = com.sun.tools.javac.util.List.of(new UnvisitableIdentifier(), newArray.elems.head),
+      "int[] array = {1};"
+    );
+  }
+
+  @Test
+  void skips_member_selects_of_identifiers() {
+    assertSkipped(
+      JCTree.JCFieldAccess.class,
+      memberSelect -> memberSelect.selected = new UnvisitableIdentifier(),
+      "Object empty = java.util.Collections.EMPTY_LIST;"
+    );
+  }
+
+  @Test
+  void skips_leaf_operands_of_binary_expressions() {
+    assertSkipped(
+      JCTree.JCBinary.class,
+      binary -> binary.rhs = new UnvisitableIdentifier(),
+      "String text = \"a\" + text() + \"b\";"
+    );
+  }
+
+  @Test
+  void visits_declarations_in_operands_of_binary_expressions() {
+    TestCompiler.ParsedSource source = compiler.parse(TestCompiler.SourceCode.of(
+      "package test;",
+      "public class Sample {",
+      "  int sum = 1",
+      "    + ((java.util.function.IntSupplier) () -> { int first = 1; return first; }).getAsInt()",
+      "    + 2",
+      "    + ((java.util.function.IntSupplier) () -> { int second = 2; return second; }).getAsInt()",
+      "    + 3;",
+      "}"
+    ));
+
+    List<String> visits = new ArrayList<>();
+    VariableScanner.scan(source.compilationUnit, source.names, new RecordingVisitor(visits));
+
+    assertThat(visits, contains("field 3", "class field 3", "local variable 4", "local variable 6"));
+  }
+
+  private <T extends JCTree> void assertSkipped(Class<T> nodeType, Consumer<T> replaceSubtree, String... members) {
+    List<String> lines = new ArrayList<>(List.of("package test;", "import java.util.List;", "public class Sample {"));
+    lines.addAll(List.of(members));
+    lines.add("  int last;");
+    lines.add("}");
+    TestCompiler.ParsedSource source = compiler.parse(TestCompiler.SourceCode.of(lines.toArray(String[]::new)));
+
+    List<T> nodes = new ArrayList<>();
+    new TreeScanner() {
+      @Override
+      public void scan(JCTree tree) {
+        if (nodeType.isInstance(tree)) {
+          nodes.add(nodeType.cast(tree));
+        }
+        super.scan(tree);
+      }
+    }.scan((JCTree) source.compilationUnit);
+    replaceSubtree.accept(nodes.get(nodes.size() - 1));
+
+    List<String> visits = new ArrayList<>();
+    VariableScanner.scan(source.compilationUnit, source.names, new RecordingVisitor(visits));
+
+    assertThat(visits, hasItem("class field " + (lines.size() - 1)));
+  }
+
+  private static final class UnvisitableExpression extends JCTree.JCParens {
+
+    UnvisitableExpression() {
+      super(null);
+    }
+
+    @Override
+    public <R, D> R accept(TreeVisitor<R, D> visitor, D data) {
+      throw new AssertionError("skipped subtree was visited");
+    }
+  }
+
+  private static final class UnvisitableIdentifier extends JCTree.JCIdent {
+
+    UnvisitableIdentifier() {
+      super(null, null);
+    }
+
+    @Override
+    public <R, D> R accept(TreeVisitor<R, D> visitor, D data) {
+      throw new AssertionError("skipped identifier was visited");
+    }
+  }
+
+  private static void replaceTestedType(JCTree.JCInstanceOf instanceOf, JCTree type) {
+    // javac 16 renamed the field holding the tested type from clazz to pattern
+    for (String name : List.of("clazz", "pattern")) {
+      try {
+        JCTree.JCInstanceOf.class.getField(name).set(instanceOf, type);
+        return;
+      } catch (NoSuchFieldException e) {
+        continue;
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    throw new IllegalStateException("no tested type in " + instanceOf);
+  }
+
+  private static final class RecordingVisitor implements DeclarationVisitor {
+
+    private final List<String> visits;
+
+    RecordingVisitor(List<String> visits) {
+      this.visits = visits;
+    }
+
+    @Override
+    public void visitLocalVariable(ModifierTarget localVariable) {
+      record("local variable", localVariable);
+    }
+
+    @Override
+    public void visitField(ModifierTarget field) {
+      record("field", field);
+    }
+
+    @Override
+    public void visitClassField(ModifierTarget field) {
+      record("class field", field);
+    }
+
+    @Override
+    public void visitEnumField(ModifierTarget field) {
+      record("enum field", field);
+    }
+
+    @Override
+    public void visitParameter(ModifierTarget parameter) {
+      record("parameter", parameter);
+    }
+
+    @Override
+    public void visitClassConstructor(ModifierTarget constructor) {
+      record("class constructor", constructor);
+    }
+
+    @Override
+    public void visitClassMethod(ModifierTarget method) {
+      record("class method", method);
+    }
+
+    @Override
+    public void visitEnumMethod(ModifierTarget method) {
+      record("enum method", method);
+    }
+
+    private void record(String declaration, ModifierTarget target) {
+      String position = target.position();
+      visits.add(declaration + " " + position.substring(position.lastIndexOf(':') + 1));
+    }
+  }
+}